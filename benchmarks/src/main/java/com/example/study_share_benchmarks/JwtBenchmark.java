@@ -0,0 +1,63 @@
+package com.example.study_share_benchmarks;
+
+import com.example.study_share_backend.model.User;
+import com.example.study_share_backend.security.JwtUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Token issue (login) and verification (every authenticated request). "cached"
+// is the steady state of the verified-token cache; "uncached" is the full
+// HS256 check a new token pays once.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtBenchmark {
+
+    private JwtUtil cachedJwtUtil;
+    private JwtUtil uncachedJwtUtil;
+    private User user;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        cachedJwtUtil = new JwtUtil(10_000);
+        uncachedJwtUtil = new JwtUtil(0);
+
+        user = new User();
+        user.setId("65f1c0ffee0000000000beef");
+        user.setName("Bench Student");
+        user.setEmail("student@example.edu");
+        user.setRole("USER");
+
+        token = cachedJwtUtil.generateToken(user);
+        cachedJwtUtil.validateAndExtract(token);
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return cachedJwtUtil.generateToken(user);
+    }
+
+    @Benchmark
+    public String validateAndExtractCached() {
+        return cachedJwtUtil.validateAndExtract(token);
+    }
+
+    @Benchmark
+    public String validateAndExtractUncached() {
+        return uncachedJwtUtil.validateAndExtract(token);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.study_share_benchmarks;
+
+import com.example.study_share_backend.dto.MaterialSummary;
+import com.example.study_share_backend.model.Material;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// JSON cost of material lists as the controllers return them: full Material
+// documents (admin lists) versus the projected MaterialSummary (catalog pages).
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MaterialSerializationBenchmark {
+
+    private static final String[] TYPES = {"Notes", "Question Paper", "Assignment", "Lab Manual"};
+
+    @Param({"20", "100", "1000", "10000"})
+    public int size;
+
+    private JsonMapper mapper;
+    private List<Material> materials;
+    private List<MaterialSummary> summaries;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().build();
+        materials = new ArrayList<>(size);
+        summaries = new ArrayList<>(size);
+
+        for (int i = 0; i < size; i++) {
+            String id = String.format("65f1c0ffee%014d", i);
+            String hash = String.format("%064x", i);
+
+            Material material = new Material();
+            material.setId(id);
+            material.setMaterialType(TYPES[i % TYPES.length]);
+            material.setSemester(1 + i % 8);
+            material.setSubject("Subject " + (i % 40));
+            material.setFileName("unit-" + i + "-lecture-notes.pdf");
+            material.setFilePath("blobs/" + hash.substring(0, 2) + "/" + hash);
+            material.setContentHash(hash);
+            material.setVersion(1L);
+            material.setApproved(true);
+            material.setUploadedBy("student" + i + "@example.edu");
+            material.setCreatedAt(new Date());
+            material.setApprovedAt(new Date());
+            materials.add(material);
+
+            summaries.add(new MaterialSummary(
+                    id,
+                    material.getMaterialType(),
+                    material.getSemester(),
+                    material.getSubject(),
+                    material.getFileName()
+            ));
+        }
+    }
+
+    @Benchmark
+    public byte[] materials() {
+        return mapper.writeValueAsBytes(materials);
+    }
+
+    @Benchmark
+    public byte[] summaries() {
+        return mapper.writeValueAsBytes(summaries);
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.study_share_benchmarks;
+
+import com.example.study_share_backend.service.InMemoryOtpStore;
+import com.example.study_share_backend.service.OtpService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// OTP issue and verification under contention: 4 threads send, 4 verify, all
+// on one OtpService. Fewer distinct emails = more threads on the same keys.
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Group)
+public class OtpBenchmark {
+
+    @Param({"1", "100", "10000"})
+    public int emails;
+
+    private OtpService otpService;
+    private String[] addresses;
+
+    @Setup
+    public void setUp() {
+        // No attempt cap, so the wrong guesses below keep hitting live entries
+        otpService = new OtpService(new InMemoryOtpStore(emails * 2, Integer.MAX_VALUE));
+
+        addresses = new String[emails];
+        for (int i = 0; i < emails; i++) {
+            addresses[i] = "student" + i + "@example.edu";
+        }
+    }
+
+    @Benchmark
+    @Group("sendAndVerify")
+    @GroupThreads(4)
+    public String generateOtp() {
+        return otpService.generateOtp(randomAddress());
+    }
+
+    // Mostly wrong guesses, like real traffic; the store lookup is the cost
+    @Benchmark
+    @Group("sendAndVerify")
+    @GroupThreads(4)
+    public boolean verifyOtp() {
+        return otpService.verifyOtp(randomAddress(), "123456");
+    }
+
+    private String randomAddress() {
+        return addresses[ThreadLocalRandom.current().nextInt(addresses.length)];
+    }
+}
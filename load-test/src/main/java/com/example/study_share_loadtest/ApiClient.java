@@ -0,0 +1,190 @@
+package com.example.study_share_loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// The backend's REST API as the frontend calls it. Every call throws on a
+// 4xx/5xx answer so the caller can count it as an error.
+final class ApiClient {
+
+    private static final String BOUNDARY = "----load-test-boundary";
+    private static final Pattern TOKEN = Pattern.compile("\"token\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*\"([0-9a-f]{24})\"");
+    private static final Pattern NEXT_CURSOR = Pattern.compile("\"nextCursor\"\\s*:\\s*\"([0-9a-f]{24})\"");
+
+    private final HttpClient client;
+    private final String baseUrl;
+
+    ApiClient(String baseUrl) {
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+        this.baseUrl = baseUrl;
+    }
+
+    record Page(List<String> ids, String nextCursor) {
+    }
+
+    // ================= AUTH =================
+
+    void sendOtp(String email) throws IOException, InterruptedException {
+        postJson("/api/auth/send-otp", null, "{\"email\":\"" + email + "\"}");
+    }
+
+    void register(String name, String email, String password, String otp) throws IOException, InterruptedException {
+        postJson("/api/auth/register", null, "{\"name\":\"" + name + "\",\"email\":\"" + email
+                + "\",\"password\":\"" + password + "\",\"otp\":\"" + otp + "\"}");
+    }
+
+    String login(String email, String password) throws IOException, InterruptedException {
+        String body = postJson("/api/auth/login", null,
+                "{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}");
+        return group(TOKEN.matcher(body));
+    }
+
+    // ================= MATERIALS =================
+
+    Page list(Integer semester, String cursor) throws IOException, InterruptedException {
+        StringBuilder path = new StringBuilder("/api/materials?limit=20");
+        if (semester != null) {
+            path.append("&semester=").append(semester);
+        }
+        if (cursor != null) {
+            path.append("&cursor=").append(cursor);
+        }
+        String body = get(path.toString());
+        return new Page(ids(body), group(NEXT_CURSOR.matcher(body)));
+    }
+
+    List<String> search(String q, Integer semester) throws IOException, InterruptedException {
+        String path = "/api/materials/search?limit=20&q=" + URLEncoder.encode(q, StandardCharsets.UTF_8)
+                + (semester != null ? "&semester=" + semester : "");
+        return ids(get(path));
+    }
+
+    // Bytes read; gzip is offered like a browser would, so precompressed variants are served
+    long download(String id) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/materials/download/" + id))
+                .timeout(Duration.ofMinutes(5))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+
+        HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+        try (InputStream body = response.body()) {
+            long read = body.transferTo(OutputStream.nullOutputStream());
+            check(response);
+            return read;
+        }
+    }
+
+    String upload(String token, int semester, String subject, String fileName, byte[] content)
+            throws IOException, InterruptedException {
+
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/materials/upload"))
+                .timeout(Duration.ofMinutes(5))
+                .header("Authorization", "Bearer " + token)
+                .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        multipartBody(semester, subject, fileName, content)))
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        check(response);
+        return group(ID.matcher(response.body()));
+    }
+
+    void bulkApprove(String adminToken, List<String> ids) throws IOException, InterruptedException {
+        StringBuilder body = new StringBuilder("{\"action\":\"approve\",\"ids\":[");
+        for (int i = 0; i < ids.size(); i++) {
+            body.append(i == 0 ? "\"" : ",\"").append(ids.get(i)).append('"');
+        }
+        postJson("/api/materials/admin/bulk", adminToken, body.append("]}").toString());
+    }
+
+    // ================= HELPERS =================
+
+    private String get(String path) throws IOException, InterruptedException {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMinutes(1))
+                .GET()
+                .build();
+
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        check(response);
+        return response.body();
+    }
+
+    private String postJson(String path, String token, String json) throws IOException, InterruptedException {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMinutes(1))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        check(response);
+        return response.body();
+    }
+
+    private static void check(HttpResponse<?> response) throws IOException {
+        if (response.statusCode() >= 400) {
+            throw new IOException(response.request().method() + " " + response.request().uri().getPath()
+                    + ": HTTP " + response.statusCode());
+        }
+    }
+
+    private static List<String> ids(String body) {
+        List<String> ids = new ArrayList<>();
+        Matcher matcher = ID.matcher(body);
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    private static String group(Matcher matcher) {
+        return matcher.find() ? matcher.group(1) : null;
+    }
+
+    private static byte[] multipartBody(int semester, String subject, String fileName, byte[] content) {
+        String head = field("materialType", "Notes")
+                + field("semester", String.valueOf(semester))
+                + field("subject", subject)
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"" + fileName + "\"\r\n"
+                + "Content-Type: application/pdf\r\n\r\n";
+        String tail = "\r\n--" + BOUNDARY + "--\r\n";
+
+        byte[] headBytes = head.getBytes(StandardCharsets.UTF_8);
+        byte[] tailBytes = tail.getBytes(StandardCharsets.UTF_8);
+        byte[] body = new byte[headBytes.length + content.length + tailBytes.length];
+        System.arraycopy(headBytes, 0, body, 0, headBytes.length);
+        System.arraycopy(content, 0, body, headBytes.length, content.length);
+        System.arraycopy(tailBytes, 0, body, headBytes.length + content.length, tailBytes.length);
+        return body;
+    }
+
+    private static String field(String name, String value) {
+        return "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                + value + "\r\n";
+    }
+}
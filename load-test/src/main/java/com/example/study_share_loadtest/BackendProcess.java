@@ -0,0 +1,110 @@
+package com.example.study_share_loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The backend under test, started from its packaged jar in a separate JVM so
+// the load generator does not share its heap, GC or CPU accounting.
+final class BackendProcess implements AutoCloseable {
+
+    private final Process process;
+    private final String baseUrl;
+
+    private BackendProcess(Process process, String baseUrl) {
+        this.process = process;
+        this.baseUrl = baseUrl;
+    }
+
+    static BackendProcess start(
+            Path jar,
+            int port,
+            String mongoUri,
+            int smtpPort,
+            String adminEmail,
+            Path workDir,
+            List<String> jvmArgs,
+            List<String> extraArgs
+    ) throws IOException {
+        if (!Files.isRegularFile(jar)) {
+            throw new IllegalStateException("Backend jar not found: " + jar
+                    + " (build it with ./mvnw -DskipTests package in study-share-backend)");
+        }
+
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.addAll(jvmArgs);
+        command.add("-jar");
+        command.add(jar.toString());
+        command.add("--server.port=" + port);
+        command.add("--management.server.port=0");
+        command.add("--spring.mongodb.uri=" + mongoUri);
+        command.add("--spring.data.mongodb.uri=" + mongoUri);
+        command.add("--spring.mail.host=127.0.0.1");
+        command.add("--spring.mail.port=" + smtpPort);
+        command.add("--spring.mail.from=loadtest@localhost");
+        command.add("--spring.mail.username=");
+        command.add("--spring.mail.password=");
+        command.add("--spring.mail.properties.mail.smtp.auth=false");
+        command.add("--spring.mail.properties.mail.smtp.starttls.enable=false");
+        command.add("--admin.email=" + adminEmail);
+        command.add("--storage.type=local");
+        // Every virtual student shares one loopback address
+        command.add("--rate-limit.enabled=false");
+        command.add("--storage.upload-dir=" + workDir.resolve("uploads"));
+        command.addAll(extraArgs);
+
+        Path log = workDir.resolve("backend.log");
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log.toFile())
+                .start();
+
+        System.out.println("Backend starting (log: " + log + ")");
+        return new BackendProcess(process, "http://127.0.0.1:" + port);
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    void awaitReady(Duration timeout) throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        HttpRequest probe = HttpRequest.newBuilder(URI.create(baseUrl + "/api/materials?limit=1"))
+                .timeout(Duration.ofSeconds(5))
+                .build();
+
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IllegalStateException("Backend exited with " + process.exitValue()
+                        + "; see backend.log");
+            }
+            try {
+                if (client.send(probe, HttpResponse.BodyHandlers.discarding()).statusCode() == 200) {
+                    return;
+                }
+            } catch (IOException e) {
+                // not listening yet
+            }
+            Thread.sleep(500);
+        }
+        throw new IllegalStateException("Backend not ready after " + timeout);
+    }
+
+    @Override
+    public void close() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(20, TimeUnit.SECONDS)) {
+            process.destroyForcibly();
+        }
+    }
+}
@@ -0,0 +1,207 @@
+package com.example.study_share_loadtest;
+
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+// End-to-end load test on one box: throwaway Mongo (Testcontainers, or an
+// existing mongod via --mongo-uri), a local SMTP stub and the packaged
+// backend in its own JVM. Registers students through the real OTP flow,
+// seeds approved materials, then replays a login/list/search/download/upload
+// mix with N concurrent students and reports p50/p99 and throughput per endpoint.
+//
+//   cd load-test && ../study-share-backend/mvnw -q compile exec:java -Dexec.args="--students=1000"
+// See README.md for the options.
+public class LoadTest {
+
+    private static final String ADMIN_EMAIL = "admin@loadtest.local";
+    private static final String PASSWORD = "load-test-password";
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        Path jar = Path.of(options.getOrDefault("backend-jar",
+                "../study-share-backend/target/study-share-backend-0.0.1-SNAPSHOT-exec.jar"));
+        String mongoImage = options.getOrDefault("mongo-image", "mongo:7.0");
+        String mongoUri = options.get("mongo-uri");
+        int students = Integer.parseInt(options.getOrDefault("students", "1000"));
+        int materials = Integer.parseInt(options.getOrDefault("materials", "500"));
+        int materialSizeKb = Integer.parseInt(options.getOrDefault("material-size-kb", "64"));
+        int uploadSizeKb = Integer.parseInt(options.getOrDefault("upload-size-kb", "256"));
+        int warmupS = Integer.parseInt(options.getOrDefault("warmup-s", "30"));
+        int durationS = Integer.parseInt(options.getOrDefault("duration-s", "120"));
+        long thinkMs = Long.parseLong(options.getOrDefault("think-ms", "1000"));
+        int setupParallelism = Integer.parseInt(options.getOrDefault("setup-parallelism", "32"));
+        Map<String, Integer> mix = options.containsKey("mix")
+                ? parseMix(options.get("mix"))
+                : Scenario.DEFAULT_MIX;
+        List<String> jvmArgs = options.containsKey("jvm-args")
+                ? Arrays.asList(options.get("jvm-args").split(" "))
+                : List.of("-Xmx1g");
+        List<String> backendArgs = options.containsKey("backend-args")
+                ? Arrays.asList(options.get("backend-args").split(" "))
+                : List.of();
+
+        Path workDir = Files.createTempDirectory("study-share-load");
+
+        MongoDBContainer mongo = null;
+        if (mongoUri == null) {
+            mongo = new MongoDBContainer(mongoImage);
+            mongo.start();
+            mongoUri = mongo.getReplicaSetUrl("studyshare");
+        }
+
+        try (SmtpStub smtp = new SmtpStub();
+             BackendProcess backend = BackendProcess.start(
+                     jar, freePort(), mongoUri, smtp.port(), ADMIN_EMAIL, workDir, jvmArgs, backendArgs)) {
+
+            backend.awaitReady(Duration.ofMinutes(3));
+            ApiClient api = new ApiClient(backend.baseUrl());
+
+            // ================= SETUP =================
+
+            long setupStart = System.nanoTime();
+            register(api, smtp, ADMIN_EMAIL);
+            String adminToken = api.login(ADMIN_EMAIL, PASSWORD);
+
+            List<Scenario.Student> roster = new ArrayList<>();
+            for (int i = 0; i < students; i++) {
+                roster.add(new Scenario.Student("student" + i + "@loadtest.local", PASSWORD));
+            }
+            List<String> tokens = inParallel(setupParallelism, roster, student -> {
+                register(api, smtp, student.email());
+                return api.login(student.email(), student.password());
+            });
+
+            List<Integer> indexes = new ArrayList<>();
+            for (int i = 0; i < materials; i++) {
+                indexes.add(i);
+            }
+            List<String> approvedIds = inParallel(setupParallelism, indexes, i -> {
+                Random random = new Random(i);
+                return api.upload(adminToken, 1 + i % 8, SeedFiles.subject(i), "seed-" + i + ".pdf",
+                        SeedFiles.pdf(SeedFiles.subject(i), random, materialSizeKb));
+            });
+            for (int from = 0; from < approvedIds.size(); from += 1000) {
+                api.bulkApprove(adminToken, approvedIds.subList(from, Math.min(from + 1000, approvedIds.size())));
+            }
+
+            System.out.printf("Setup: %d students, %d approved materials, %d OTP mails in %d s%n",
+                    students, approvedIds.size(), smtp.messageCount(),
+                    Duration.ofNanos(System.nanoTime() - setupStart).toSeconds());
+
+            // ================= RUN =================
+
+            Stats stats = new Stats(mix.keySet());
+            Scenario scenario = new Scenario(api, stats, mix, List.copyOf(approvedIds), uploadSizeKb, thinkMs);
+
+            System.out.printf("Running %d students, mix %s, mean think time %d ms: %d s warmup + %d s measured%n",
+                    students, mix, thinkMs, warmupS, durationS);
+
+            long runStart = System.nanoTime();
+            long measureStart = runStart + Duration.ofSeconds(warmupS).toNanos();
+            long deadline = measureStart + Duration.ofSeconds(durationS).toNanos();
+
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < students; i++) {
+                    Scenario.Student student = roster.get(i);
+                    String token = tokens.get(i);
+                    executor.submit(() -> scenario.run(student, token, deadline));
+                }
+
+                Thread.sleep(Duration.ofNanos(Math.max(0, measureStart - System.nanoTime())));
+                stats.reset();
+            }
+
+            stats.report(System.out, Duration.ofSeconds(durationS));
+        } finally {
+            if (mongo != null) {
+                mongo.stop();
+            }
+        }
+    }
+
+    // ================= HELPERS =================
+
+    private interface Task<T, R> {
+        R run(T input) throws Exception;
+    }
+
+    // Results in input order; any failure aborts the setup
+    private static <T, R> List<R> inParallel(int parallelism, List<T> inputs, Task<T, R> task) throws Exception {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<R>> futures = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (T input : inputs) {
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return task.run(input);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+
+            List<R> results = new ArrayList<>(futures.size());
+            for (Future<R> future : futures) {
+                results.add(future.get());
+            }
+            return Collections.unmodifiableList(results);
+        }
+    }
+
+    // The real sign-up flow: OTP mail through the outbox to the stub, then register
+    private static void register(ApiClient api, SmtpStub smtp, String email) throws Exception {
+        api.sendOtp(email);
+        String otp = smtp.awaitOtp(email, 30_000);
+        api.register(email.substring(0, email.indexOf('@')), email, PASSWORD, otp);
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+
+    private static Map<String, Integer> parseMix(String value) {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        for (String part : value.split(",")) {
+            String[] pair = part.trim().split(":");
+            if (!Scenario.DEFAULT_MIX.containsKey(pair[0])) {
+                throw new IllegalArgumentException("Unknown action in --mix: " + pair[0]
+                        + " (expected " + Scenario.DEFAULT_MIX.keySet() + ")");
+            }
+            mix.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        return mix;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.study_share_loadtest;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// One student session: pick the next action from the weighted mix, run it,
+// think for a while, repeat until the deadline. A failed action is counted
+// by Stats and the session carries on.
+final class Scenario {
+
+    static final Map<String, Integer> DEFAULT_MIX = defaultMix();
+
+    record Student(String email, String password) {
+    }
+
+    private final ApiClient api;
+    private final Stats stats;
+    private final Map<String, Integer> mix;
+    private final int totalWeight;
+    private final List<String> approvedIds;
+    private final int uploadSizeKb;
+    private final long meanThinkMs;
+
+    Scenario(
+            ApiClient api,
+            Stats stats,
+            Map<String, Integer> mix,
+            List<String> approvedIds,
+            int uploadSizeKb,
+            long meanThinkMs
+    ) {
+        this.api = api;
+        this.stats = stats;
+        this.mix = mix;
+        this.totalWeight = mix.values().stream().mapToInt(Integer::intValue).sum();
+        this.approvedIds = approvedIds;
+        this.uploadSizeKb = uploadSizeKb;
+        this.meanThinkMs = meanThinkMs;
+    }
+
+    void run(Student student, String token, long deadlineNanos) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        while (System.nanoTime() < deadlineNanos) {
+            try {
+                switch (pick(random)) {
+                    case "login" -> token = stats.time("login",
+                            () -> api.login(student.email(), student.password()));
+                    case "list" -> list(random);
+                    case "search" -> search(random);
+                    case "download" -> stats.time("download",
+                            () -> api.download(approvedIds.get(random.nextInt(approvedIds.size()))));
+                    case "upload" -> upload(token, random);
+                    default -> throw new IllegalStateException();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                // counted as an error for the endpoint
+            }
+
+            if (!think(random)) {
+                return;
+            }
+        }
+    }
+
+    // Browsing: first page, sometimes filtered, sometimes followed by the next page
+    private void list(ThreadLocalRandom random) throws Exception {
+        Integer semester = random.nextInt(3) == 0 ? 1 + random.nextInt(8) : null;
+        ApiClient.Page page = stats.time("list", () -> api.list(semester, null));
+
+        if (page.nextCursor() != null && random.nextInt(3) == 0) {
+            stats.time("list", () -> api.list(semester, page.nextCursor()));
+        }
+    }
+
+    private void search(ThreadLocalRandom random) throws Exception {
+        String q = random.nextBoolean()
+                ? SeedFiles.TERMS.get(random.nextInt(SeedFiles.TERMS.size()))
+                : SeedFiles.subject(random.nextInt()).split(" ")[0];
+        Integer semester = random.nextInt(4) == 0 ? 1 + random.nextInt(8) : null;
+
+        stats.time("search", () -> api.search(q, semester));
+    }
+
+    // A fresh file each time, so it is a new blob rather than a dedup hit
+    private void upload(String token, ThreadLocalRandom random) throws Exception {
+        int index = random.nextInt(1_000_000);
+        byte[] content = SeedFiles.pdf(SeedFiles.subject(index), random, uploadSizeKb);
+
+        stats.time("upload", () -> api.upload(
+                token, 1 + index % 8, SeedFiles.subject(index), "notes-" + index + ".pdf", content));
+    }
+
+    private String pick(ThreadLocalRandom random) {
+        int roll = random.nextInt(totalWeight);
+        for (Map.Entry<String, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Empty mix");
+    }
+
+    // Exponential think time around the mean, capped so a session never stalls
+    private boolean think(ThreadLocalRandom random) {
+        if (meanThinkMs <= 0) {
+            return true;
+        }
+        long pause = (long) Math.min(-meanThinkMs * Math.log(1 - random.nextDouble()), meanThinkMs * 10.0);
+        try {
+            Thread.sleep(Duration.ofMillis(pause));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static Map<String, Integer> defaultMix() {
+        Map<String, Integer> mix = new LinkedHashMap<>();
+        mix.put("login", 5);
+        mix.put("list", 35);
+        mix.put("search", 25);
+        mix.put("download", 30);
+        mix.put("upload", 5);
+        return mix;
+    }
+}
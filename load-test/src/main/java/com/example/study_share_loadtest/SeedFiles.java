@@ -0,0 +1,83 @@
+package com.example.study_share_loadtest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Small but real one-page PDFs, so uploads go through text extraction,
+// thumbnail rendering and precompression just like student notes do.
+final class SeedFiles {
+
+    static final List<String> SUBJECTS = List.of(
+            "Operating Systems", "Data Structures", "Computer Networks", "Database Systems",
+            "Discrete Mathematics", "Compiler Design", "Machine Learning", "Software Engineering"
+    );
+
+    static final List<String> TERMS = List.of(
+            "scheduling", "deadlock", "paging", "graph", "heap", "routing", "tcp", "normalization",
+            "transaction", "recursion", "induction", "parsing", "regression", "testing", "sorting"
+    );
+
+    private SeedFiles() {
+    }
+
+    static String subject(int index) {
+        return SUBJECTS.get(Math.floorMod(index, SUBJECTS.size()));
+    }
+
+    // Lines of exam-style notes; padding grows the file toward sizeKb
+    static byte[] pdf(String subject, Random random, int sizeKb) {
+        List<String> lines = new ArrayList<>();
+        lines.add(subject + " - unit notes");
+        int targetBytes = sizeKb * 1024;
+        int written = 0;
+        while (written < targetBytes) {
+            String line = "Explain " + TERMS.get(random.nextInt(TERMS.size()))
+                    + " with an example (" + random.nextInt(1_000_000) + ")";
+            lines.add(line);
+            written += line.length() + 20;
+        }
+        return render(lines);
+    }
+
+    private static byte[] render(List<String> lines) {
+        StringBuilder stream = new StringBuilder("BT /F1 9 Tf 40 800 Td 11 TL\n");
+        for (String line : lines) {
+            stream.append('(').append(line.replace("(", "[").replace(")", "]")).append(") '\n");
+        }
+        stream.append("ET\n");
+
+        List<String> objects = List.of(
+                "<< /Type /Catalog /Pages 2 0 R >>",
+                "<< /Type /Pages /Kids [3 0 R] /Count 1 >>",
+                "<< /Type /Page /Parent 2 0 R /MediaBox [0 0 595 842] "
+                        + "/Resources << /Font << /F1 4 0 R >> >> /Contents 5 0 R >>",
+                "<< /Type /Font /Subtype /Type1 /BaseFont /Helvetica >>",
+                "<< /Length " + stream.length() + " >>\nstream\n" + stream + "endstream"
+        );
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        write(out, "%PDF-1.4\n");
+        long[] offsets = new long[objects.size()];
+        for (int i = 0; i < objects.size(); i++) {
+            offsets[i] = out.size();
+            write(out, (i + 1) + " 0 obj\n" + objects.get(i) + "\nendobj\n");
+        }
+
+        long xref = out.size();
+        StringBuilder trailer = new StringBuilder("xref\n0 " + (objects.size() + 1) + "\n0000000000 65535 f \n");
+        for (long offset : offsets) {
+            trailer.append(String.format("%010d 00000 n \n", offset));
+        }
+        trailer.append("trailer\n<< /Size ").append(objects.size() + 1).append(" /Root 1 0 R >>\n")
+                .append("startxref\n").append(xref).append("\n%%EOF\n");
+        write(out, trailer.toString());
+        return out.toByteArray();
+    }
+
+    private static void write(ByteArrayOutputStream out, String text) {
+        out.writeBytes(text.getBytes(StandardCharsets.US_ASCII));
+    }
+}
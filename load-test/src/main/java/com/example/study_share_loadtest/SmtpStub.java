@@ -0,0 +1,141 @@
+package com.example.study_share_loadtest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Minimal local SMTP server: accepts everything the mail outbox sends, keeps
+// nothing but the OTP codes, which virtual users need to register.
+final class SmtpStub implements AutoCloseable {
+
+    private static final Pattern OTP = Pattern.compile("OTP is: (\\d{6})");
+
+    private final ServerSocket serverSocket;
+    private final Map<String, BlockingQueue<String>> otps = new ConcurrentHashMap<>();
+    private final AtomicLong messages = new AtomicLong();
+
+    SmtpStub() throws IOException {
+        this.serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        Thread.ofVirtual().name("smtp-accept").start(this::acceptLoop);
+    }
+
+    int port() {
+        return serverSocket.getLocalPort();
+    }
+
+    long messageCount() {
+        return messages.get();
+    }
+
+    // Latest OTP mailed to this address, waiting for the outbox to deliver it
+    String awaitOtp(String email, long timeoutMs) throws InterruptedException {
+        String otp = queue(email).poll(timeoutMs, TimeUnit.MILLISECONDS);
+        if (otp == null) {
+            throw new IllegalStateException("No OTP mail for " + email + " within " + timeoutMs + " ms");
+        }
+        return otp;
+    }
+
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+    }
+
+    private BlockingQueue<String> queue(String email) {
+        return otps.computeIfAbsent(email.toLowerCase(Locale.ROOT), key -> new LinkedBlockingQueue<>());
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                Thread.ofVirtual().name("smtp-session").start(() -> session(socket));
+            } catch (IOException e) {
+                // closed
+            }
+        }
+    }
+
+    private void session(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(
+                     new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII));
+             OutputStream out = socket.getOutputStream()) {
+
+            reply(out, "220 loadtest-smtp ESMTP");
+            List<String> recipients = new ArrayList<>();
+
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.toUpperCase(Locale.ROOT);
+
+                if (command.startsWith("EHLO")) {
+                    reply(out, "250-loadtest-smtp\r\n250 8BITMIME");
+                } else if (command.startsWith("RCPT TO:")) {
+                    recipients.add(address(line.substring(8)));
+                    reply(out, "250 OK");
+                } else if (command.equals("DATA")) {
+                    reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                    String otp = readData(in);
+                    if (otp != null) {
+                        recipients.forEach(recipient -> queue(recipient).add(otp));
+                    }
+                    messages.incrementAndGet();
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("RSET")) {
+                    recipients.clear();
+                    reply(out, "250 OK");
+                } else if (command.equals("QUIT")) {
+                    reply(out, "221 Bye");
+                    return;
+                } else {
+                    // HELO, MAIL FROM, NOOP, ...
+                    reply(out, "250 OK");
+                }
+            }
+        } catch (IOException e) {
+            // client went away
+        }
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        String otp = null;
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            Matcher matcher = OTP.matcher(line);
+            if (matcher.find()) {
+                otp = matcher.group(1);
+            }
+        }
+        return otp;
+    }
+
+    private static String address(String value) {
+        String trimmed = value.trim();
+        int start = trimmed.indexOf('<');
+        int end = trimmed.indexOf('>');
+        return start >= 0 && end > start ? trimmed.substring(start + 1, end) : trimmed;
+    }
+
+    private static void reply(OutputStream out, String text) throws IOException {
+        out.write((text + "\r\n").getBytes(StandardCharsets.US_ASCII));
+        out.flush();
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.study_share_loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.io.PrintStream;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Per-endpoint latency histograms (microseconds) and error counts. Recorders
+// are written by every virtual user without locking; reset() drops the warmup.
+final class Stats {
+
+    interface Call<T> {
+        T run() throws Exception;
+    }
+
+    private static final class Endpoint {
+        final Recorder latencies = new Recorder(3);
+        final LongAdder errors = new LongAdder();
+    }
+
+    private final Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+
+    Stats(Iterable<String> names) {
+        for (String name : names) {
+            endpoints.put(name, new Endpoint());
+        }
+    }
+
+    <T> T time(String name, Call<T> call) throws Exception {
+        Endpoint endpoint = endpoints.get(name);
+        long start = System.nanoTime();
+        try {
+            T result = call.run();
+            endpoint.latencies.recordValue((System.nanoTime() - start) / 1_000);
+            return result;
+        } catch (Exception e) {
+            endpoint.errors.increment();
+            throw e;
+        }
+    }
+
+    void reset() {
+        for (Endpoint endpoint : endpoints.values()) {
+            endpoint.latencies.reset();
+            endpoint.errors.reset();
+        }
+    }
+
+    // Drains the recorders, so call once at the end of the measured phase
+    void report(PrintStream out, Duration measured) {
+        double seconds = measured.toMillis() / 1000.0;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+
+        out.printf("%-10s %10s %8s %7s %9s %9s %9s %9s%n",
+                "endpoint", "completed", "errors", "err%", "req/s", "p50 ms", "p99 ms", "max ms");
+
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Histogram histogram = entry.getValue().latencies.getIntervalHistogram();
+            long errors = entry.getValue().errors.sum();
+            total.add(histogram);
+            totalErrors += errors;
+            print(out, entry.getKey(), histogram, errors, seconds);
+        }
+        print(out, "all", total, totalErrors, seconds);
+    }
+
+    private static void print(PrintStream out, String name, Histogram histogram, long errors, double seconds) {
+        long completed = histogram.getTotalCount();
+        long attempts = completed + errors;
+
+        out.printf("%-10s %10d %8d %7.2f %9.1f %9.1f %9.1f %9.1f%n",
+                name, completed, errors,
+                attempts == 0 ? 0 : 100.0 * errors / attempts,
+                completed / seconds,
+                millis(histogram, 50), millis(histogram, 99),
+                completed == 0 ? 0 : histogram.getMaxValue() / 1000.0);
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getTotalCount() == 0 ? 0 : histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
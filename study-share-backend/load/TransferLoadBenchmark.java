@@ -0,0 +1,343 @@
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Concurrent download/upload load against one running node. Each step keeps N
+// clients busy for a fixed time (optionally reading/writing at a throttled
+// "campus Wi-Fi" rate) and reports latency, throughput and errors, so the
+// highest sustained concurrency can be compared between thread modes.
+//
+// Single-file program, no build needed:
+//   java load/TransferLoadBenchmark.java --mode=download --material-id=<id> --label=platform
+// See load/README.md for the full procedure.
+public class TransferLoadBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+
+        String baseUrl = options.getOrDefault("base-url", "http://localhost:8080");
+        String mode = options.getOrDefault("mode", "download");
+        String label = options.getOrDefault("label", "");
+        String results = options.get("results");
+        String materialId = options.get("material-id");
+        String token = options.get("token");
+        int uploadSizeKb = Integer.parseInt(options.getOrDefault("upload-size-kb", "512"));
+        int rateKbps = Integer.parseInt(options.getOrDefault("rate-kbps", "256"));
+        int durationS = Integer.parseInt(options.getOrDefault("duration-s", "30"));
+        long maxP99Ms = Long.parseLong(options.getOrDefault("max-p99-ms", "10000"));
+        double maxErrorPct = Double.parseDouble(options.getOrDefault("max-error-pct", "1"));
+        List<Integer> levels = Arrays.stream(options.getOrDefault("levels", "100,250,500,1000,2000").split(","))
+                .map(String::trim)
+                .map(Integer::parseInt)
+                .toList();
+
+        if (mode.equals("download") && materialId == null) {
+            throw new IllegalArgumentException("--material-id is required for downloads");
+        }
+        if (mode.equals("upload") && token == null) {
+            throw new IllegalArgumentException("--token is required for uploads");
+        }
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Transfer transfer = switch (mode) {
+            case "download" -> new Download(client, baseUrl, materialId, rateKbps);
+            case "upload" -> new Upload(client, baseUrl, token, uploadSizeKb, rateKbps);
+            case "catalog" -> new Catalog(client, baseUrl, rateKbps);
+            default -> throw new IllegalArgumentException("--mode must be download, upload or catalog");
+        };
+
+        System.out.printf("%s %s, %d s per step, %s%n",
+                label, mode, durationS, rateKbps > 0 ? rateKbps + " KB/s per client" : "unthrottled");
+        if (results != null && Files.notExists(Path.of(results))) {
+            append(results, "label,mode,rate_kbps,clients,completed,errors,error_pct,req_s,mb_s,p50_ms,p99_ms,sustained");
+        }
+
+        System.out.printf("%8s %10s %8s %7s %9s %9s %9s %9s  %s%n",
+                "clients", "completed", "errors", "err%", "req/s", "MB/s", "p50 ms", "p99 ms", "sustained");
+
+        int highestSustained = 0;
+        for (int level : levels) {
+            StepResult result = runStep(transfer, level, Duration.ofSeconds(durationS));
+            boolean sustained = result.errorPct() <= maxErrorPct
+                    && result.percentile(0.99) <= maxP99Ms
+                    && result.completed() > 0;
+
+            double requestsPerSecond = result.completed() / (double) durationS;
+            double megabytesPerSecond = result.bytes() / (1024.0 * 1024.0) / durationS;
+
+            System.out.printf("%8d %10d %8d %7.2f %9.1f %9.2f %9d %9d  %s%n",
+                    level, result.completed(), result.errors(), result.errorPct(),
+                    requestsPerSecond, megabytesPerSecond,
+                    result.percentile(0.50), result.percentile(0.99),
+                    sustained ? "yes" : "no");
+
+            if (results != null) {
+                append(results, String.format(Locale.ROOT, "%s,%s,%d,%d,%d,%d,%.2f,%.1f,%.2f,%d,%d,%s",
+                        label, mode, rateKbps, level, result.completed(), result.errors(), result.errorPct(),
+                        requestsPerSecond, megabytesPerSecond,
+                        result.percentile(0.50), result.percentile(0.99), sustained));
+            }
+
+            if (sustained) {
+                highestSustained = level;
+            }
+        }
+
+        System.out.printf("%s %s: highest sustained concurrency = %d%n", label, mode, highestSustained);
+    }
+
+    // ================= STEP =================
+
+    private static StepResult runStep(Transfer transfer, int clients, Duration duration) {
+
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<List<Long>> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < clients; i++) {
+                executor.submit(() -> {
+                    List<Long> own = new ArrayList<>();
+                    while (System.nanoTime() < deadline) {
+                        long start = System.nanoTime();
+                        try {
+                            bytes.addAndGet(transfer.run());
+                            own.add((System.nanoTime() - start) / 1_000_000);
+                        } catch (Exception e) {
+                            errors.incrementAndGet();
+                        }
+                    }
+                    latencies.add(own);
+                });
+            }
+        }
+
+        long[] sorted = latencies.stream()
+                .flatMap(List::stream)
+                .mapToLong(Long::longValue)
+                .sorted()
+                .toArray();
+        return new StepResult(sorted, errors.get(), bytes.get());
+    }
+
+    private record StepResult(long[] sortedLatencies, long errors, long bytes) {
+
+        long completed() {
+            return sortedLatencies.length;
+        }
+
+        double errorPct() {
+            long total = completed() + errors;
+            return total == 0 ? 0 : 100.0 * errors / total;
+        }
+
+        long percentile(double p) {
+            if (sortedLatencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(p * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)];
+        }
+    }
+
+    // ================= TRANSFERS =================
+
+    private interface Transfer {
+        // Bytes moved; throws on any non-2xx/3xx answer
+        long run() throws Exception;
+    }
+
+    private record Download(HttpClient client, String baseUrl, String materialId, int rateKbps)
+            implements Transfer {
+
+        @Override
+        public long run() throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(
+                            URI.create(baseUrl + "/api/materials/download/" + materialId))
+                    .timeout(Duration.ofMinutes(5))
+                    .GET()
+                    .build();
+
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = new ThrottledInputStream(response.body(), rateKbps)) {
+                long read = body.transferTo(OutputStream.nullOutputStream());
+                check(response.statusCode());
+                return read;
+            }
+        }
+    }
+
+    // First catalog page, as the home page loads it
+    private record Catalog(HttpClient client, String baseUrl, int rateKbps) implements Transfer {
+
+        @Override
+        public long run() throws Exception {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/materials?limit=20"))
+                    .timeout(Duration.ofMinutes(1))
+                    .GET()
+                    .build();
+
+            HttpResponse<InputStream> response = client.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream body = new ThrottledInputStream(response.body(), rateKbps)) {
+                long read = body.transferTo(OutputStream.nullOutputStream());
+                check(response.statusCode());
+                return read;
+            }
+        }
+    }
+
+    private static final class Upload implements Transfer {
+
+        private static final String BOUNDARY = "----load-benchmark-boundary";
+
+        private static final byte[] HEAD = (field("materialType", "Notes")
+                + field("semester", "1")
+                + field("subject", "Load test")
+                + "--" + BOUNDARY + "\r\n"
+                + "Content-Disposition: form-data; name=\"file\"; filename=\"load.bin\"\r\n"
+                + "Content-Type: application/octet-stream\r\n\r\n").getBytes(StandardCharsets.UTF_8);
+        private static final byte[] TAIL = ("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.UTF_8);
+
+        private final HttpClient client;
+        private final String baseUrl;
+        private final String token;
+        private final int sizeBytes;
+        private final int rateKbps;
+
+        Upload(HttpClient client, String baseUrl, String token, int sizeKb, int rateKbps) {
+            this.client = client;
+            this.baseUrl = baseUrl;
+            this.token = token;
+            this.sizeBytes = sizeKb * 1024;
+            this.rateKbps = rateKbps;
+        }
+
+        @Override
+        public long run() throws Exception {
+            // Fresh random bytes per request, so every upload is a new blob rather than a dedup hit
+            byte[] content = new byte[sizeBytes];
+            ThreadLocalRandom.current().nextBytes(content);
+
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/materials/upload"))
+                    .timeout(Duration.ofMinutes(5))
+                    .header("Authorization", "Bearer " + token)
+                    .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                    .POST(HttpRequest.BodyPublishers.ofInputStream(
+                            () -> new ThrottledInputStream(multipartBody(content), rateKbps)))
+                    .build();
+
+            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+            check(response.statusCode());
+            return HEAD.length + content.length + TAIL.length;
+        }
+
+        private static InputStream multipartBody(byte[] content) {
+            return new SequenceInputStream(Collections.enumeration(List.of(
+                    new ByteArrayInputStream(HEAD),
+                    new ByteArrayInputStream(content),
+                    new ByteArrayInputStream(TAIL)
+            )));
+        }
+
+        private static String field(String name, String value) {
+            return "--" + BOUNDARY + "\r\n"
+                    + "Content-Disposition: form-data; name=\"" + name + "\"\r\n\r\n"
+                    + value + "\r\n";
+        }
+    }
+
+    private static void check(int status) throws IOException {
+        if (status >= 400) {
+            throw new IOException("HTTP " + status);
+        }
+    }
+
+    // ================= HELPERS =================
+
+    // Caps one client's transfer rate; 0 = unthrottled
+    private static final class ThrottledInputStream extends FilterInputStream {
+
+        private static final int CHUNK = 8 * 1024;
+
+        private final long bytesPerSecond;
+        private final long start = System.nanoTime();
+        private long transferred;
+
+        ThrottledInputStream(InputStream in, int rateKbps) {
+            super(in);
+            this.bytesPerSecond = rateKbps * 1024L;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] one = new byte[1];
+            return read(one, 0, 1) == -1 ? -1 : one[0] & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int read = super.read(b, off, bytesPerSecond > 0 ? Math.min(len, CHUNK) : len);
+            if (read > 0 && bytesPerSecond > 0) {
+                transferred += read;
+                long dueNanos = transferred * 1_000_000_000L / bytesPerSecond;
+                long aheadNanos = dueNanos - (System.nanoTime() - start);
+                if (aheadNanos > 0) {
+                    try {
+                        Thread.sleep(Duration.ofNanos(aheadNanos));
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException("Interrupted", e);
+                    }
+                }
+            }
+            return read;
+        }
+    }
+
+    // One CSV line per step, so runs of every variant collect in one file
+    private static void append(String file, String line) throws IOException {
+        Files.writeString(Path.of(file), line + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value, got " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -2,12 +2,32 @@ package com.example.study_share_backend;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.util.Map;
 
 @SpringBootApplication
+@EnableScheduling
 public class StudyShareBackendApplication {
 
 	public static void main(String[] args) {
-		SpringApplication.run(StudyShareBackendApplication.class, args);
+		SpringApplication application = new SpringApplication(StudyShareBackendApplication.class);
+
+		// Overridable from application.properties.
+		// - Actuator (metrics at /actuator/prometheus) listens only on a loopback
+		//   management port, never the public one; bind management.server.address
+		//   to a private interface for a remote scraper. 8081 is taken by
+		//   study-share-reactive when both run on one host.
+		// - The storageExecutor bean would otherwise stop Boot from creating
+		//   applicationTaskExecutor, leaving MVC async (StreamingResponseBody) on
+		//   an unbounded SimpleAsyncTaskExecutor.
+		application.setDefaultProperties(Map.of(
+				"management.endpoints.web.exposure.include", "health,prometheus",
+				"management.server.port", "8082",
+				"management.server.address", "127.0.0.1",
+				"spring.task.execution.mode", "force"
+		));
+		application.run(args);
 	}
 
 }
@@ -0,0 +1,29 @@
+package com.example.study_share_backend.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.AuditorAware;
+import org.springframework.data.mongodb.config.EnableMongoAuditing;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+
+@Configuration
+@EnableMongoAuditing(auditorAwareRef = "auditorAware")
+public class AuditConfig {
+
+    // @CreatedBy = email of the authenticated user (the JWT subject)
+    @Bean
+    public AuditorAware<String> auditorAware() {
+        return () -> {
+            Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+            if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+                return Optional.empty();
+            }
+            return Optional.of(auth.getName());
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.study_share_backend.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String CATALOG = "catalog";
+    public static final String CATALOG_SEARCH = "catalogSearch";
+
+    // Entries are evicted on change events; the TTL only bounds staleness from
+    // changes made on other nodes without a broadcaster, or from racing reads
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${catalog.cache.max-size:2000}") long maxSize,
+            @Value("${catalog.cache.ttl-seconds:300}") long ttlSeconds
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CATALOG, CATALOG_SEARCH);
+        cacheManager.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats());
+        return cacheManager;
+    }
+}
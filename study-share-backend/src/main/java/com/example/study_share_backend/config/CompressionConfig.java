@@ -0,0 +1,34 @@
+package com.example.study_share_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.server.Compression;
+import org.springframework.boot.web.server.ConfigurableWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+@Configuration
+public class CompressionConfig {
+
+    // On-the-fly gzip for JSON API responses. File downloads are not listed: they
+    // are served from precompressed variants (see PrecompressionService) or as is,
+    // and responses that already carry a Content-Encoding are never re-compressed.
+    @Bean
+    public WebServerFactoryCustomizer<ConfigurableWebServerFactory> responseCompression(
+            @Value("${compression.enabled:true}") boolean enabled,
+            @Value("${compression.min-response-size:1KB}") DataSize minResponseSize
+    ) {
+        return factory -> {
+            Compression compression = new Compression();
+            compression.setEnabled(enabled);
+            compression.setMimeTypes(new String[] {
+                    "application/json",
+                    "application/x-ndjson",
+                    "application/problem+json"
+            });
+            compression.setMinResponseSize(minResponseSize);
+            factory.setCompression(compression);
+        };
+    }
+}
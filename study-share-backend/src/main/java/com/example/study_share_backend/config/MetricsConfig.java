@@ -0,0 +1,85 @@
+package com.example.study_share_backend.config;
+
+import com.example.study_share_backend.security.RateLimitFilter;
+import com.example.study_share_backend.service.ContentIndexService;
+import com.example.study_share_backend.service.MailOutbox;
+import com.example.study_share_backend.service.OtpStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+// Metrics Boot does not provide on its own. Already auto-timed:
+//   http.server.requests              per endpoint (uri template, method, status)
+//   spring.data.repository.invocations per MaterialRepository / UserRepository method
+//   mongodb.driver.commands           every Mongo command, MongoTemplate calls included
+// Those get histogram buckets here so p99 can be computed across nodes.
+@Configuration
+public class MetricsConfig {
+
+    private static final List<String> HISTOGRAM_METERS = List.of(
+            "http.server.requests",
+            "spring.data.repository.invocations",
+            "mongodb.driver.commands"
+    );
+
+    @Bean
+    public MeterFilter latencyHistograms() {
+        return new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                if (!HISTOGRAM_METERS.contains(id.getName())) {
+                    return config;
+                }
+                return DistributionStatisticConfig.builder()
+                        .percentilesHistogram(true)
+                        .build()
+                        .merge(config);
+            }
+        };
+    }
+
+    // Queue depths and outcome counts of the in-process stores and queues
+    @Bean
+    public MeterBinder queueMetrics(
+            OtpStore otpStore,
+            MailOutbox mailOutbox,
+            ContentIndexService contentIndexService,
+            RateLimitFilter rateLimitFilter
+    ) {
+        return registry -> {
+            Gauge.builder("otp.store.size", otpStore, OtpStore::size)
+                    .description("Pending OTPs")
+                    .register(registry);
+
+            Gauge.builder("mail.outbox.queue.depth", mailOutbox, MailOutbox::queueDepth)
+                    .register(registry);
+            FunctionCounter.builder("mail.outbox.sent", mailOutbox, MailOutbox::sentCount)
+                    .register(registry);
+            FunctionCounter.builder("mail.outbox.retried", mailOutbox, MailOutbox::retriedCount)
+                    .register(registry);
+            FunctionCounter.builder("mail.outbox.failed", mailOutbox, MailOutbox::failedCount)
+                    .register(registry);
+
+            Gauge.builder("content.index.queue.depth", contentIndexService, ContentIndexService::queueDepth)
+                    .register(registry);
+            FunctionCounter.builder("content.index.completed", contentIndexService, ContentIndexService::completedCount)
+                    .register(registry);
+            FunctionCounter.builder("content.index.failed", contentIndexService, ContentIndexService::failedCount)
+                    .register(registry);
+
+            for (String limit : rateLimitFilter.limitNames()) {
+                FunctionCounter.builder("rate.limit.rejections", rateLimitFilter,
+                                filter -> filter.rejections(limit))
+                        .tag("limit", limit)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -1,4 +1,61 @@
 package com.example.study_share_backend.config;
 
-public class MongoConfig {
+import com.example.study_share_backend.migration.Migration;
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.model.MaterialContent;
+import com.example.study_share_backend.model.OtpToken;
+import com.example.study_share_backend.model.RateLimitBucket;
+import com.example.study_share_backend.model.StoredBlob;
+import com.example.study_share_backend.model.User;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexResolver;
+
+import java.util.List;
+
+// Migrations, then indexes, while the context starts: both finish before the
+// web server starts, so no request sees unmigrated data or a missing unique index.
+@Configuration
+public class MongoConfig implements SmartInitializingSingleton {
+
+    // Collections whose @Indexed / @CompoundIndex declarations are applied at startup
+    private static final List<Class<?>> INDEXED_DOCUMENTS = List.of(
+            Material.class,
+            MaterialContent.class,
+            OtpToken.class,
+            RateLimitBucket.class,
+            StoredBlob.class,
+            User.class
+    );
+
+    private final MongoTemplate mongoTemplate;
+    private final ObjectProvider<Migration> migrations;
+
+    public MongoConfig(MongoTemplate mongoTemplate, ObjectProvider<Migration> migrations) {
+        this.mongoTemplate = mongoTemplate;
+        this.migrations = migrations;
+    }
+
+    // The unique email index needs the normalized emails, so migrations go first
+    @Override
+    public void afterSingletonsInstantiated() {
+        migrations.orderedStream().forEach(Migration::migrate);
+        createIndexes();
+    }
+
+    // Auto index creation is off by default in Spring Boot, so create them explicitly
+    private void createIndexes() {
+        IndexResolver resolver = new MongoPersistentEntityIndexResolver(
+                mongoTemplate.getConverter().getMappingContext()
+        );
+
+        for (Class<?> type : INDEXED_DOCUMENTS) {
+            IndexOperations indexOps = mongoTemplate.indexOps(type);
+            resolver.resolveIndexFor(type).forEach(indexOps::createIndex);
+        }
+    }
 }
@@ -0,0 +1,75 @@
+package com.example.study_share_backend.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+
+@Configuration
+public class StorageConfig {
+
+    // Background storage work (e.g. precompression after upload). With
+    // spring.threads.virtual.enabled every task gets its own virtual thread,
+    // capped by a concurrency limit instead of a pool size. Either way a full
+    // executor rejects the task rather than blocking the submitting request.
+    @Bean
+    public AsyncTaskExecutor storageExecutor(
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+            @Value("${storage.executor.threads:4}") int threads,
+            @Value("${storage.executor.queue-capacity:10000}") int queueCapacity,
+            @Value("${storage.executor.virtual-concurrency:256}") int virtualConcurrency
+    ) {
+        if (virtualThreads) {
+            return new BoundedVirtualTaskExecutor("storage-", virtualConcurrency);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("storage-");
+        executor.initialize();
+        return executor;
+    }
+
+    // One virtual thread per task, at most limit of them at once. Unlike
+    // SimpleAsyncTaskExecutor's concurrency limit, which makes the caller wait,
+    // a task over the limit is rejected like on a full ThreadPoolTaskExecutor.
+    static final class BoundedVirtualTaskExecutor implements AsyncTaskExecutor {
+
+        private final Semaphore permits;
+        private final ThreadFactory threadFactory;
+        private final int limit;
+
+        BoundedVirtualTaskExecutor(String namePrefix, int limit) {
+            this.permits = new Semaphore(limit);
+            this.threadFactory = Thread.ofVirtual().name(namePrefix, 0).factory();
+            this.limit = limit;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            if (!permits.tryAcquire()) {
+                throw new TaskRejectedException("More than " + limit + " tasks running");
+            }
+
+            try {
+                threadFactory.newThread(() -> {
+                    try {
+                        task.run();
+                    } finally {
+                        permits.release();
+                    }
+                }).start();
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+    }
+}
@@ -1,14 +1,26 @@
 package com.example.study_share_backend.controller;
 
 
+import com.example.study_share_backend.dto.UserPage;
+import com.example.study_share_backend.dto.UserSummary;
 import com.example.study_share_backend.model.User;
 import com.example.study_share_backend.repository.UserRepository;
+import com.example.study_share_backend.security.TokenVersionService;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
 
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/api/admin")
@@ -16,25 +28,102 @@ import java.util.stream.Collectors;
 public class AdminController {
 
     private final UserRepository userRepository;
+    private final TokenVersionService tokenVersionService;
+    private final JsonMapper jsonMapper;
 
-    public AdminController(UserRepository userRepository) {
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Set<String> SORTABLE_FIELDS = Set.of("email", "name");
+
+    public AdminController(
+            UserRepository userRepository,
+            TokenVersionService tokenVersionService,
+            JsonMapper jsonMapper
+    ) {
         this.userRepository = userRepository;
+        this.tokenVersionService = tokenVersionService;
+        this.jsonMapper = jsonMapper;
     }
 
-    // ================= GET ALL USERS =================
+    // ================= USERS (PAGED, PROJECTED) =================
     @GetMapping("/users")
     @PreAuthorize("hasRole('ADMIN')") // Only admins can access
-    public ResponseEntity<?> getAllUsers() {
-        List<User> users = userRepository.findAll();
+    public UserPage getUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "email") String sort,
+            @RequestParam(defaultValue = "asc") String direction,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        if (!SORTABLE_FIELDS.contains(sort)) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "sort must be one of " + SORTABLE_FIELDS
+            );
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(0, page);
 
-        List<Object> safeUsers = users.stream().map(user -> new Object() {
-            public final String id = user.getId();
-            public final String name = user.getName();
-            public final String email = user.getEmail();
-            public final String role = user.getRole();
-        }).collect(Collectors.toList());
+        // _id as tie-breaker keeps pages stable when names repeat
+        Sort order = Sort.by(Sort.Direction.fromOptionalString(direction).orElse(Sort.Direction.ASC), sort)
+                .and(Sort.by("_id"));
 
-        return ResponseEntity.ok(safeUsers);
+        return new UserPage(
+                userRepository.findSummaries(q, order, pageIndex, pageSize),
+                pageIndex,
+                pageSize,
+                userRepository.countByPrefix(q)
+        );
+    }
+
+    // ================= USERS EXPORT (NDJSON) =================
+    // One JSON object per line, written straight from a Mongo cursor, so memory
+    // stays flat however many users there are.
+    @GetMapping(value = "/users/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(required = false) String q) {
+        StreamingResponseBody body = out -> {
+            try (Stream<UserSummary> users = userRepository.streamSummaries(q)) {
+                Iterator<UserSummary> iterator = users.iterator();
+                while (iterator.hasNext()) {
+                    out.write(jsonMapper.writeValueAsBytes(iterator.next()));
+                    out.write('\n');
+                }
+            }
+        };
+
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"users.ndjson\"")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
-}
 
+    // ================= UPDATE USER ROLE =================
+    @PutMapping("/users/{id}/role")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> updateUserRole(
+            @PathVariable String id,
+            @RequestBody Map<String, String> body
+    ) {
+        String role = body.get("role");
+        if (!"ADMIN".equals(role) && !"USER".equals(role)) {
+            return ResponseEntity
+                    .badRequest()
+                    .body(Map.of("message", "Role must be ADMIN or USER"));
+        }
+
+        User user = userRepository.updateRole(id, role);
+        if (user == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        // Tokens issued with the old role stop working right away on this node
+        tokenVersionService.update(user.getId(), user.getTokenVersion());
+
+        return ResponseEntity.ok(Map.of(
+                "message", "Role updated, user must log in again",
+                "role", user.getRole()
+        ));
+    }
+}
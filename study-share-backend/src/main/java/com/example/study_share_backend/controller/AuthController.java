@@ -5,12 +5,14 @@ import com.example.study_share_backend.dto.RegisterRequest;
 import com.example.study_share_backend.model.User;
 import com.example.study_share_backend.repository.UserRepository;
 import com.example.study_share_backend.security.JwtUtil;
+import com.example.study_share_backend.security.TokenVersionService;
 import com.example.study_share_backend.service.EmailService;
 import com.example.study_share_backend.service.OtpService;
+import com.example.study_share_backend.service.PasswordHashingService;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.Map;
@@ -21,10 +23,11 @@ import java.util.Map;
 public class AuthController {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final JwtUtil jwtUtil;
     private final OtpService otpService;
     private final EmailService emailService;
+    private final TokenVersionService tokenVersionService;
 
     // Admin email is now injected from application.properties
     @Value("${admin.email}")
@@ -32,22 +35,24 @@ public class AuthController {
 
     public AuthController(
             UserRepository userRepository,
-            PasswordEncoder passwordEncoder,
+            PasswordHashingService passwordHashingService,
             JwtUtil jwtUtil,
             OtpService otpService,
-            EmailService emailService
+            EmailService emailService,
+            TokenVersionService tokenVersionService
     ) {
         this.userRepository = userRepository;
-        this.passwordEncoder = passwordEncoder;
+        this.passwordHashingService = passwordHashingService;
         this.jwtUtil = jwtUtil;
         this.otpService = otpService;
         this.emailService = emailService;
+        this.tokenVersionService = tokenVersionService;
     }
 
     // ================= SEND OTP =================
     @PostMapping("/send-otp")
     public ResponseEntity<?> sendOtp(@RequestBody Map<String, String> request) {
-        String email = request.get("email");
+        String email = User.normalizeEmail(request.get("email"));
 
         if (email == null || email.isEmpty()) {
             return ResponseEntity
@@ -55,8 +60,8 @@ public class AuthController {
                     .body(Map.of("message", "Email is required"));
         }
 
-        // Check if already registered
-        if (userRepository.findByEmail(email).isPresent()) {
+        // Check if already registered (register still relies on the unique index)
+        if (userRepository.existsByEmail(email)) {
             return ResponseEntity
                     .status(HttpStatus.CONFLICT)
                     .body(Map.of("message", "Email already registered"));
@@ -85,35 +90,41 @@ public class AuthController {
                     .body(Map.of("message", "All fields are required"));
         }
 
-        // 1. Verify OTP
-        boolean validOtp = otpService.verifyOtp(request.getEmail(), request.getOtp());
+        String email = User.normalizeEmail(request.getEmail());
+
+        // 1. Hash first, on the bounded hashing pool: a 503 when it is saturated
+        // must not cost the user their OTP
+        String passwordHash = passwordHashingService.encode(request.getPassword());
+
+        // 2. Verify (and consume) the OTP
+        boolean validOtp = otpService.verifyOtp(email, request.getOtp());
         if (!validOtp) {
             return ResponseEntity
                     .status(HttpStatus.BAD_REQUEST)
                     .body(Map.of("message", "Invalid or expired OTP"));
         }
 
-        // 2. Check existing user
-        if (userRepository.findByEmail(request.getEmail()).isPresent()) {
-            return ResponseEntity
-                    .status(HttpStatus.CONFLICT)
-                    .body(Map.of("message", "Email already registered"));
-        }
-
         // 3. Create user
         User user = new User();
         user.setName(request.getName());
-        user.setEmail(request.getEmail());
-        user.setPassword(passwordEncoder.encode(request.getPassword()));
+        user.setEmail(email);
+        user.setPassword(passwordHash);
 
         // Assign role based on adminEmail from config
-        if (request.getEmail().equalsIgnoreCase(adminEmail)) {
+        if (email.equalsIgnoreCase(adminEmail)) {
             user.setRole("ADMIN");
         } else {
             user.setRole("USER");
         }
 
-        userRepository.save(user);
+        // 4. Single insert; the unique email index rejects existing (or racing) registrations
+        try {
+            userRepository.insert(user);
+        } catch (DuplicateKeyException e) {
+            return ResponseEntity
+                    .status(HttpStatus.CONFLICT)
+                    .body(Map.of("message", "Email already registered"));
+        }
 
         return ResponseEntity.ok(Map.of("message", "Registered successfully"));
     }
@@ -122,17 +133,23 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest request) {
 
-        User user = userRepository.findByEmail(request.getEmail())
-                .orElse(null);
+        // One indexed lookup returning only the fields needed below
+        User user = userRepository.findCredentials(User.normalizeEmail(request.getEmail()));
 
-        if (user == null || !passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+        if (user == null || !passwordHashingService.matches(request.getPassword(), user.getPassword())) {
             return ResponseEntity
                     .status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("message", "Email or password is incorrect"));
         }
 
+        // Outdated hash (no scheme prefix or lower cost): re-hash in the background
+        passwordHashingService.upgradeIfNeeded(user, request.getPassword());
+
         // Generate JWT
-        String token = jwtUtil.generateToken(user.getEmail());
+        String token = jwtUtil.generateToken(user);
+
+        // Known-current version, so the first authenticated request skips the lookup
+        tokenVersionService.update(user.getId(), user.getTokenVersion());
 
         return ResponseEntity.ok(
                 Map.of(
@@ -1,27 +1,46 @@
 package com.example.study_share_backend.controller;
 
+import com.example.study_share_backend.dto.BulkModerationRequest;
+import com.example.study_share_backend.dto.MaterialPage;
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.dto.MaterialSummary;
+import com.example.study_share_backend.event.MaterialChangedEvent;
 import com.example.study_share_backend.model.Material;
 import com.example.study_share_backend.repository.MaterialRepository;
+import com.example.study_share_backend.service.CatalogCache;
+import com.example.study_share_backend.service.ContentIndexService;
+import com.example.study_share_backend.service.MaterialService;
+import com.example.study_share_backend.service.ModerationService;
+import com.example.study_share_backend.service.PrecompressionService;
+import com.example.study_share_backend.service.PreviewService;
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.Closeable;
 import java.io.IOException;
-import java.net.MalformedURLException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/materials")
@@ -29,11 +48,36 @@ import java.util.Optional;
 public class MaterialController {
 
     private final MaterialRepository materialRepository;
-
-    private static final Path UPLOAD_DIR = Paths.get("C:/studyshare/uploads");
-
-    public MaterialController(MaterialRepository materialRepository) {
+    private final MaterialService materialService;
+    private final ContentIndexService contentIndexService;
+    private final CatalogCache catalogCache;
+    private final ModerationService moderationService;
+    private final PreviewService previewService;
+    private final PrecompressionService precompressionService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_IDS = 5000;
+
+    public MaterialController(
+            MaterialRepository materialRepository,
+            MaterialService materialService,
+            ContentIndexService contentIndexService,
+            CatalogCache catalogCache,
+            ModerationService moderationService,
+            PreviewService previewService,
+            PrecompressionService precompressionService,
+            ApplicationEventPublisher eventPublisher
+    ) {
         this.materialRepository = materialRepository;
+        this.materialService = materialService;
+        this.contentIndexService = contentIndexService;
+        this.catalogCache = catalogCache;
+        this.moderationService = moderationService;
+        this.previewService = previewService;
+        this.precompressionService = precompressionService;
+        this.eventPublisher = eventPublisher;
     }
 
     // ================= USER UPLOAD =================
@@ -49,23 +93,29 @@ public class MaterialController {
         }
 
         try {
-            Files.createDirectories(UPLOAD_DIR);
-
-            String storedFileName =
-                    System.currentTimeMillis() + "_" + file.getOriginalFilename();
-            Path filePath = UPLOAD_DIR.resolve(storedFileName);
-
-            file.transferTo(filePath.toFile());
+            String contentHash = materialService.storeBlob(file);
 
             Material material = new Material();
             material.setMaterialType(materialType);
             material.setSemester(semester);
             material.setSubject(subject);
             material.setFileName(file.getOriginalFilename());
-            material.setFilePath(filePath.toString());
+            material.setFilePath(materialService.blobKey(contentHash));
+            material.setContentHash(contentHash);
             material.setApproved(false); // PENDING
 
-            materialRepository.save(material);
+            try {
+                materialRepository.save(material);
+            } catch (RuntimeException e) {
+                materialService.releaseBlob(material.getFilePath());
+                throw e;
+            }
+
+            // Text extraction, preview rendering and precompression run in the background
+            contentIndexService.submit(material);
+            previewService.submit(material);
+            precompressionService.submit(material);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(material, false));
 
             return ResponseEntity.ok(Map.of(
                     "message", "Material uploaded successfully. Waiting for admin approval",
@@ -80,13 +130,66 @@ public class MaterialController {
         }
     }
 
-    // ================= STUDENT: APPROVED ONLY =================
+    // ================= STUDENT: APPROVED ONLY (CURSOR PAGED) =================
     @GetMapping
-    public List<Material> getApprovedMaterials() {
-        return materialRepository.findByApprovedTrue();
+    public MaterialPage getApprovedMaterials(
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String subject,
+            @RequestParam(required = false) String materialType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        if (cursor != null && !cursor.isEmpty() && !ObjectId.isValid(cursor)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        CatalogCache.Key key = new CatalogCache.Key(
+                null, semester, subject, materialType, cursor, 0, pageSize
+        );
+
+        return catalogCache.listing(key, () -> {
+            List<MaterialSummary> items = materialRepository.findApprovedPage(
+                    semester, subject, materialType, cursor, pageSize
+            );
+
+            // A full page means there may be more; hand back the last id as the cursor
+            String nextCursor = items.size() == pageSize
+                    ? items.get(items.size() - 1).getId()
+                    : null;
+
+            return new MaterialPage(items, nextCursor);
+        });
     }
+
+    // ================= STUDENT: SEARCH (TEXT INDEX + FACETS) =================
+    @GetMapping("/search")
+    public MaterialSearchResult searchMaterials(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String subject,
+            @RequestParam(required = false) String materialType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(0, page);
+
+        CatalogCache.Key key = new CatalogCache.Key(
+                q, semester, subject, materialType, null, pageIndex, pageSize
+        );
+
+        return catalogCache.search(key, () -> materialRepository.search(
+                q, semester, subject, materialType, pageIndex, pageSize
+        ));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/pending/latest")
     public List<Material> getLatestPending() {
+        // {approved, createdAt} bounds and orders the scan (no in-memory sort);
+        // the 6 full documents are then fetched, so this is not a covered query
         Pageable pageable = PageRequest.of(
                 0,                      // page
                 6,                      // limit
@@ -98,63 +201,103 @@ public class MaterialController {
 
 
     // ================= ADMIN: ALL PENDING =================
+    @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/pending")
     public List<Material> getAllPending() {
         return materialRepository.findByApprovedFalse();
     }
 
     // ================= ADMIN: ALL MATERIALS (MANAGE PAGE) =================
+    @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/materials")
     public List<Material> getAllMaterials() {
         return materialRepository.findAll(); // ✅ FIXED
     }
 
     // ================= ADMIN: APPROVE =================
+    @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/admin/approve/{id}")
     public ResponseEntity<?> approveMaterial(@PathVariable String id) {
-        Material material = getMaterialOrThrow(id);
-        material.setApproved(true);
-        materialRepository.save(material);
+        // Single atomic update; returns the document as it was before
+        Material previous = materialRepository.approve(id);
+        if (previous == null) {
+            if (!materialRepository.existsById(id)) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Material not found");
+            }
+            return ResponseEntity.ok(Map.of("message", "Material already approved"));
+        }
+
+        previous.setApproved(true);
+        eventPublisher.publishEvent(MaterialChangedEvent.of(previous, false));
 
         return ResponseEntity.ok(Map.of("message", "Material approved"));
     }
 
     // ================= ADMIN: DELETE (REJECT) =================
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/admin/{id}")
     public ResponseEntity<?> deleteMaterial(@PathVariable String id) {
         Material material = getMaterialOrThrow(id);
-        materialRepository.delete(material);
+        // Releases the blob reference too; the file goes once nothing uses it
+        materialService.deleteWithFile(material);
+        contentIndexService.remove(id);
+        eventPublisher.publishEvent(MaterialChangedEvent.of(material, material.isApproved()));
 
         return ResponseEntity.ok(Map.of("message", "Material deleted"));
     }
+    // ================= ADMIN: BULK APPROVE / REJECT / DELETE =================
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/admin/bulk")
+    public ResponseEntity<?> bulkModerate(@RequestBody BulkModerationRequest request) {
+        List<String> ids = request.getIds();
+
+        if (ids == null || ids.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids are required");
+        }
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BULK_IDS + " ids per request"
+            );
+        }
+
+        List<String> distinctIds = ids.stream().distinct().toList();
+
+        Map<String, String> results = switch (String.valueOf(request.getAction())) {
+            case "approve" -> moderationService.approveAll(distinctIds);
+            case "reject" -> moderationService.deleteAll(distinctIds, true);
+            case "delete" -> moderationService.deleteAll(distinctIds, false);
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "action must be approve, reject or delete"
+            );
+        };
+
+        return ResponseEntity.ok(Map.of("results", results));
+    }
+
     // ================= ADMIN: VIEW PENDING MATERIAL =================
+    @PreAuthorize("hasRole('ADMIN')")
     @GetMapping("/admin/view/{id}")
-    public ResponseEntity<Resource> viewPendingMaterial(@PathVariable String id) {
+    public ResponseEntity<Resource> viewPendingMaterial(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range
+    ) {
 
         Material material = getMaterialOrThrow(id);
 
         try {
-            Path filePath = Paths.get(material.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists()) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
-            }
+            return serveFile(material, "inline", acceptEncoding, range);
 
-            return ResponseEntity.ok()
-                    .header(
-                            HttpHeaders.CONTENT_DISPOSITION,
-                            "inline; filename=\"" + material.getFileName() + "\""
-                    )
-                    .body(resource);
-
-        } catch (MalformedURLException e) {
+        } catch (IOException e) {
             throw new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR,
                     "Failed to open file"
             );
         }
     }
+    @PreAuthorize("hasRole('ADMIN')")
     @PutMapping("/admin/update-filename/{id}")
     public ResponseEntity<?> updateFileName(
             @PathVariable String id,
@@ -165,21 +308,76 @@ public class MaterialController {
             return ResponseEntity.badRequest().body("Filename cannot be empty");
         }
 
-        Optional<Material> materialOpt = materialRepository.findById(id);
-        if (materialOpt.isEmpty()) {
+        // Optional: only rename if nobody changed the material since it was read
+        Long expectedVersion;
+        try {
+            expectedVersion = body.get("version") != null
+                    ? Long.valueOf(body.get("version"))
+                    : null;
+        } catch (NumberFormatException e) {
+            return ResponseEntity.badRequest().body("Version must be a number");
+        }
+
+        Material material = materialRepository.rename(id, newFileName, expectedVersion);
+        if (material == null) {
+            if (expectedVersion != null && materialRepository.existsById(id)) {
+                return ResponseEntity
+                        .status(HttpStatus.CONFLICT)
+                        .body(Map.of("message", "Material was modified by someone else"));
+            }
             return ResponseEntity.notFound().build();
         }
 
-        Material material = materialOpt.get();
-        material.setFileName(newFileName);
-        materialRepository.save(material);
+        eventPublisher.publishEvent(MaterialChangedEvent.of(material, material.isApproved()));
 
         return ResponseEntity.ok(material);
     }
 
+    // ================= PREVIEW / THUMBNAIL =================
+    @GetMapping("/{id}/preview")
+    public ResponseEntity<Resource> getPreview(
+            @PathVariable String id,
+            @RequestParam(defaultValue = "thumb") String size
+    ) {
+        PreviewService.Variant variant = switch (size) {
+            case "thumb" -> PreviewService.Variant.THUMB;
+            case "preview" -> PreviewService.Variant.PREVIEW;
+            default -> throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "size must be thumb or preview"
+            );
+        };
+
+        Material material = getMaterialOrThrow(id);
+
+        if (!material.isApproved() && !isAdmin()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Material not approved yet");
+        }
+
+        Path asset = previewService.find(material, variant);
+        if (asset == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Preview not available yet");
+        }
+
+        // Assets are keyed by content hash, so an approved preview never changes
+        CacheControl cacheControl = material.isApproved()
+                ? CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable()
+                : CacheControl.noStore();
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .eTag(material.getContentHash() + "-" + size)
+                .cacheControl(cacheControl)
+                .body(new FileSystemResource(asset));
+    }
+
     // ================= DOWNLOAD (APPROVED ONLY) =================
     @GetMapping("/download/{id}")
-    public ResponseEntity<Resource> downloadMaterial(@PathVariable String id) {
+    public ResponseEntity<Resource> downloadMaterial(
+            @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @RequestHeader(value = HttpHeaders.RANGE, required = false) String range
+    ) {
 
         Material material = getMaterialOrThrow(id);
 
@@ -191,19 +389,9 @@ public class MaterialController {
         }
 
         try {
-            Path filePath = Paths.get(material.getFilePath());
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (!resource.exists()) {
-                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
-            }
+            return serveFile(material, "attachment", acceptEncoding, range);
 
-            return ResponseEntity.ok()
-                    .header(HttpHeaders.CONTENT_DISPOSITION,
-                            "attachment; filename=\"" + material.getFileName() + "\"")
-                    .body(resource);
-
-        } catch (MalformedURLException e) {
+        } catch (IOException e) {
             throw new ResponseStatusException(
                     HttpStatus.INTERNAL_SERVER_ERROR,
                     "Download failed"
@@ -211,24 +399,16 @@ public class MaterialController {
         }
     }
     // ================= ADMIN: DELETE MATERIAL (WITH FILE) =================
+    @PreAuthorize("hasRole('ADMIN')")
     @DeleteMapping("/admin/materials/{id}")
     public ResponseEntity<?> deleteMaterialByAdmin(@PathVariable String id) {
 
         Material material = getMaterialOrThrow(id);
 
-        // 1️⃣ Delete file from disk (if exists)
-        try {
-            Path filePath = Paths.get(material.getFilePath());
-            Files.deleteIfExists(filePath);
-        } catch (IOException e) {
-            throw new ResponseStatusException(
-                    HttpStatus.INTERNAL_SERVER_ERROR,
-                    "Failed to delete file from storage"
-            );
-        }
-
-        // 2️⃣ Delete from database
-        materialRepository.delete(material);
+        // 1️⃣ Delete from database, 2️⃣ the file goes once nothing references it
+        materialService.deleteWithFile(material);
+        contentIndexService.remove(id);
+        eventPublisher.publishEvent(MaterialChangedEvent.of(material, material.isApproved()));
 
         // 3️⃣ Success response
         return ResponseEntity.ok(
@@ -237,7 +417,111 @@ public class MaterialController {
     }
 
 
-    // ================= HELPER METHOD =================
+    // ================= HELPER METHODS =================
+
+    // Streams the stored file from the storage backend. Spring MVC then answers
+    // "Range" requests with 206 partial content (copied in fixed-size chunks, never
+    // buffered whole) and "If-None-Match"/"If-Modified-Since" with 304 based on the
+    // ETag and Last-Modified set here. Clients accepting gzip get the stored
+    // precompressed variant (its own ETag; ranges apply to the encoded bytes).
+    // Storage is told where a single range starts, so S3 fetches only that part.
+    private ResponseEntity<Resource> serveFile(
+            Material material,
+            String disposition,
+            String acceptEncoding,
+            String range
+    ) throws IOException {
+
+        long offset = rangeOffset(range);
+
+        String encoding = precompressionService.negotiate(material, acceptEncoding);
+        Resource resource = encoding != null
+                ? releaseAfterRequest(precompressionService.load(material, encoding, offset))
+                : null;
+
+        if (resource == null || !resource.exists()) {
+            encoding = null;
+            resource = releaseAfterRequest(materialService.load(material, offset));
+        }
+
+        if (!resource.exists()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found");
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(material.getFileName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        String contentHash = materialService.contentHash(material);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        disposition + "; filename=\"" + material.getFileName() + "\"")
+                .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                .contentType(mediaType)
+                .lastModified(resource.lastModified())
+                .cacheControl(CacheControl.noCache());
+
+        if (material.getEncodings() != null && !material.getEncodings().isEmpty()) {
+            response.varyBy(HttpHeaders.ACCEPT_ENCODING);
+        }
+
+        if (encoding != null) {
+            return response
+                    .header(HttpHeaders.CONTENT_ENCODING, encoding)
+                    .eTag(contentHash + "-" + encoding)
+                    .body(resource);
+        }
+
+        return response
+                .eTag(contentHash)
+                .body(resource);
+    }
+
+    // First byte of a single "bytes=N-" or "bytes=N-M" range; 0 for anything else
+    private static long rangeOffset(String range) {
+        if (range == null || !range.startsWith("bytes=") || range.contains(",")) {
+            return 0;
+        }
+
+        String spec = range.substring("bytes=".length()).trim();
+        int dash = spec.indexOf('-');
+        if (dash <= 0) {
+            return 0;
+        }
+
+        try {
+            return Math.max(0, Long.parseLong(spec.substring(0, dash).trim()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    // Storage resources that hold a connection (S3) are closed once the response
+    // is written, including when the body was never read (304, HEAD, errors)
+    private static Resource releaseAfterRequest(Resource resource) {
+        if (resource instanceof Closeable closeable) {
+            RequestContextHolder.currentRequestAttributes().registerDestructionCallback(
+                    "storageResource." + System.identityHashCode(resource),
+                    () -> {
+                        try {
+                            closeable.close();
+                        } catch (IOException ignored) {
+                            // The connection is dropped either way
+                        }
+                    },
+                    RequestAttributes.SCOPE_REQUEST
+            );
+        }
+        return resource;
+    }
+
+    private static boolean isAdmin() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+
+        return auth != null && auth.getAuthorities().stream()
+                .anyMatch(authority -> "ROLE_ADMIN".equals(authority.getAuthority()));
+    }
+
     private Material getMaterialOrThrow(String id) {
         return materialRepository.findById(id)
                 .orElseThrow(() ->
@@ -0,0 +1,13 @@
+package com.example.study_share_backend.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkModerationRequest {
+
+    // "approve", "reject" (pending only) or "delete"
+    private String action;
+    private List<String> ids;
+}
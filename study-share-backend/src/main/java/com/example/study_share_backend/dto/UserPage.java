@@ -0,0 +1,22 @@
+package com.example.study_share_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserPage {
+
+    private List<UserSummary> items;
+
+    // Zero-based page index and page size as applied
+    private int page;
+    private int size;
+
+    // Number of users matching the search (all pages)
+    private long total;
+}
@@ -0,0 +1,17 @@
+package com.example.study_share_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Projection of User for the admin user list (never carries the password hash)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSummary {
+
+    private String id;
+    private String name;
+    private String email;
+    private String role;
+}
@@ -0,0 +1,9 @@
+package com.example.study_share_backend.event;
+
+// Hook for keeping catalog caches coherent across nodes. An implementation sends
+// local changes to the other nodes (e.g. Redis pub/sub, a Mongo change stream or
+// a capped collection), and on receipt calls CatalogCache.applyRemote(event).
+public interface CacheInvalidationBroadcaster {
+
+    void broadcast(MaterialChangedEvent event);
+}
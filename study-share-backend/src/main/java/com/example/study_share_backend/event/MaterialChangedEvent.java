@@ -0,0 +1,26 @@
+package com.example.study_share_backend.event;
+
+import com.example.study_share_backend.model.Material;
+
+// Published after a material is created, approved, renamed, deleted or its
+// text is indexed.
+// catalogVisible = the material is (or was, before this change) approved,
+// i.e. the change can affect what students see.
+public record MaterialChangedEvent(
+        String materialId,
+        Integer semester,
+        String subject,
+        String materialType,
+        boolean catalogVisible
+) {
+
+    public static MaterialChangedEvent of(Material material, boolean wasApproved) {
+        return new MaterialChangedEvent(
+                material.getId(),
+                material.getSemester(),
+                material.getSubject(),
+                material.getMaterialType(),
+                wasApproved || material.isApproved()
+        );
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.study_share_backend.migration;
+
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.model.StoredBlob;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// One-off: materials stored before blob reference counting have no StoredBlob.
+// Counts materials per storage key and inserts the missing counts; keys that
+// already have one are left alone. Idempotent. Runs before the web server
+// starts (see Migration), so no upload can create a count first and have it
+// taken as complete.
+@Component
+@ConditionalOnProperty(name = "migrations.blob-references", havingValue = "true", matchIfMissing = true)
+public class BlobReferenceBackfill implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobReferenceBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public BlobReferenceBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void migrate() {
+        List<Document> counts = mongoTemplate.aggregate(
+                Aggregation.newAggregation(
+                        Aggregation.match(Criteria.where("filePath").ne(null)),
+                        Aggregation.group("filePath").count().as("refs")
+                ),
+                Material.class,
+                Document.class
+        ).getMappedResults();
+
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StoredBlob.class);
+        for (Document count : counts) {
+            bulk.upsert(
+                    new Query(Criteria.where("_id").is(count.getString("_id"))),
+                    new Update().setOnInsert("refs", count.get("refs"))
+            );
+        }
+
+        int inserted = bulk.execute().getUpserts().size();
+        if (inserted > 0) {
+            log.info("Backfilled reference counts for {} stored blobs", inserted);
+        }
+    }
+}
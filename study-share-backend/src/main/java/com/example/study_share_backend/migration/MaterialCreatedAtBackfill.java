@@ -0,0 +1,43 @@
+package com.example.study_share_backend.migration;
+
+import com.example.study_share_backend.model.Material;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ConvertOperators;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+// One-off: materials saved before auditing have no createdAt. Their ObjectId
+// already holds the insert time, so copy it over in a single server-side
+// updateMany. Idempotent (only touches documents still missing the field).
+@Component
+@ConditionalOnProperty(name = "migrations.material-created-at", havingValue = "true", matchIfMissing = true)
+public class MaterialCreatedAtBackfill implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(MaterialCreatedAtBackfill.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public MaterialCreatedAtBackfill(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void migrate() {
+        Query missing = new Query(Criteria.where("createdAt").exists(false));
+
+        AggregationUpdate fromObjectId = AggregationUpdate.update()
+                .set("createdAt").toValue(ConvertOperators.ToDate.toDate("$_id"));
+
+        long updated = mongoTemplate.updateMulti(missing, fromObjectId, Material.class)
+                .getModifiedCount();
+
+        if (updated > 0) {
+            log.info("Backfilled createdAt on {} materials", updated);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.study_share_backend.migration;
+
+// A one-off, idempotent data fix. MongoConfig runs every enabled migration once
+// per start, before creating indexes and before the web server takes traffic.
+public interface Migration {
+
+    void migrate();
+}
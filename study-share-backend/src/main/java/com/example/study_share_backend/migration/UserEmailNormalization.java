@@ -0,0 +1,65 @@
+package com.example.study_share_backend.migration;
+
+import com.example.study_share_backend.model.User;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.StringOperators;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+// One-off, before MongoConfig builds the unique email index: lower-cases and
+// trims stored emails in one server-side updateMany. Idempotent. Addresses
+// that collide once normalized are logged; the index cannot be built until
+// they are merged.
+@Component
+@ConditionalOnProperty(name = "migrations.user-email", havingValue = "true", matchIfMissing = true)
+public class UserEmailNormalization implements Migration {
+
+    private static final Logger log = LoggerFactory.getLogger(UserEmailNormalization.class);
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserEmailNormalization(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public void migrate() {
+        BasicQuery notNormalized = new BasicQuery(
+                "{ email: { $type: 'string' },"
+                        + " $expr: { $ne: ['$email', { $toLower: { $trim: { input: '$email' } } }] } }"
+        );
+
+        AggregationUpdate normalized = AggregationUpdate.update()
+                .set("email").toValue(StringOperators.ToLower.lowerValueOf(StringOperators.Trim.valueOf("email")));
+
+        long updated = mongoTemplate.updateMulti(notNormalized, normalized, User.class)
+                .getModifiedCount();
+
+        if (updated > 0) {
+            log.info("Normalized email on {} users", updated);
+        }
+
+        List<Document> duplicates = mongoTemplate.aggregate(
+                Aggregation.newAggregation(
+                        Aggregation.group("email").count().as("count"),
+                        Aggregation.match(Criteria.where("count").gt(1))
+                ),
+                User.class,
+                Document.class
+        ).getMappedResults();
+
+        for (Document duplicate : duplicates) {
+            log.error("{} users share the email {}; merge them so the unique index can be built",
+                    duplicate.get("count"), duplicate.get("_id"));
+        }
+    }
+}
@@ -1,24 +0,0 @@
-package com.example.study_share_backend.model;
-
-import lombok.*;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.mapping.Document;
-
-@Document(collection = "users")
-@Data
-@NoArgsConstructor
-@AllArgsConstructor
-public class User {
-
-    @Id
-    private String id;
-
-    private String name;
-
-    private String email;
-
-    private String password;
-
-    // ✅ Role: "ADMIN" or "USER"
-    private String role = "USER"; // default role is USER
-}
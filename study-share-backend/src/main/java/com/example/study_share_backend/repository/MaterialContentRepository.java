@@ -0,0 +1,17 @@
+package com.example.study_share_backend.repository;
+
+import com.example.study_share_backend.model.MaterialContent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Date;
+import java.util.List;
+
+public interface MaterialContentRepository extends MongoRepository<MaterialContent, String> {
+
+    // Oldest backlog first (used to re-queue work after restarts / full queues)
+    List<MaterialContent> findByStatus(String status, Pageable pageable);
+
+    // Expired PROCESSING leases
+    List<MaterialContent> findByStatusAndProcessingStartedAtBefore(String status, Date startedBefore, Pageable pageable);
+}
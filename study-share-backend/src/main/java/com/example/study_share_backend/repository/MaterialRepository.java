@@ -6,7 +6,7 @@ import org.springframework.data.mongodb.repository.MongoRepository;
 
 import java.util.List;
 
-public interface MaterialRepository extends MongoRepository<Material, String> {
+public interface MaterialRepository extends MongoRepository<Material, String>, MaterialRepositoryCustom {
 
     // Student visible materials
     List<Material> findByApprovedTrue();
@@ -0,0 +1,64 @@
+package com.example.study_share_backend.repository;
+
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.dto.MaterialSummary;
+import com.example.study_share_backend.model.Material;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+public interface MaterialRepositoryCustom {
+
+    // Keyset page of approved materials, newest first. All filters are optional.
+    List<MaterialSummary> findApprovedPage(
+            Integer semester,
+            String subject,
+            String materialType,
+            String cursor,
+            int limit
+    );
+
+    // Relevance-ranked text search over approved materials plus facet counts,
+    // all from one aggregation. Blank text = filters only, newest first.
+    MaterialSearchResult search(
+            String text,
+            Integer semester,
+            String subject,
+            String materialType,
+            int page,
+            int limit
+    );
+
+    // ================= BULK MODERATION =================
+
+    // Only the fields moderation needs (approval state, filters, file key)
+    List<Material> findForModeration(Collection<String> ids);
+
+    // Single updateMulti: $set approved=true on the still-pending ones
+    long approveAll(Collection<String> ids);
+
+    // One deleteMany; with pendingOnly the approved=false filter is evaluated by
+    // Mongo, so a material approved since it was read is never removed
+    long deleteForModeration(Collection<String> ids, boolean pendingOnly);
+
+    // Which of these ids still exist
+    Set<String> findExistingIds(Collection<String> ids);
+
+    // ================= ATOMIC UPDATES =================
+
+    // Sets approved=true in one findAndModify on a still-pending material (so a
+    // repeat leaves approvedAt and version alone); returns the document as it
+    // was before the update, or null if it does not exist or is already approved
+    Material approve(String id);
+
+    // Renames in one findAndModify and returns the updated document. With an
+    // expectedVersion the update only applies if the version still matches;
+    // null means "not found or version changed"
+    Material rename(String id, String fileName, Long expectedVersion);
+
+    void setContentHash(String id, String contentHash);
+
+    // Records a precompressed variant on every material sharing this storage key
+    void addEncoding(String filePath, String encoding);
+}
@@ -0,0 +1,177 @@
+package com.example.study_share_backend.repository;
+
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.dto.MaterialSummary;
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.model.MaterialContent;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+public class MaterialRepositoryImpl implements MaterialRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MaterialRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public List<MaterialSummary> findApprovedPage(
+            Integer semester,
+            String subject,
+            String materialType,
+            String cursor,
+            int limit
+    ) {
+        Query query = MaterialQueries.approvedPage(semester, subject, materialType, cursor, limit);
+
+        return mongoTemplate.find(query, MaterialSummary.class,
+                mongoTemplate.getCollectionName(Material.class));
+    }
+
+    @Override
+    public MaterialSearchResult search(
+            String text,
+            Integer semester,
+            String subject,
+            String materialType,
+            int page,
+            int limit
+    ) {
+        List<ObjectId> contentMatches = text != null && !text.isBlank()
+                ? findContentMatches(text)
+                : List.of();
+
+        List<AggregationOperation> pipeline = MaterialQueries.search(
+                text, contentMatches, semester, subject, materialType, page, limit
+        );
+
+        Document result = mongoTemplate.aggregate(
+                Aggregation.newAggregation(pipeline),
+                mongoTemplate.getCollectionName(Material.class),
+                Document.class
+        ).getUniqueMappedResult();
+
+        return MaterialQueries.toSearchResult(result, mongoTemplate.getConverter());
+    }
+
+    @Override
+    public List<Material> findForModeration(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields()
+                .include("approved")
+                .include("semester")
+                .include("subject")
+                .include("materialType")
+                .include("filePath")
+                .include("encodings");
+
+        return mongoTemplate.find(query, Material.class);
+    }
+
+    @Override
+    public long approveAll(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids).and("approved").is(false));
+
+        Update update = Update.update("approved", true)
+                .set("approvedAt", new Date())
+                .inc("version", 1);
+
+        return mongoTemplate.updateMulti(query, update, Material.class)
+                .getModifiedCount();
+    }
+
+    @Override
+    public long deleteForModeration(Collection<String> ids, boolean pendingOnly) {
+        Criteria criteria = Criteria.where("_id").in(ids);
+        if (pendingOnly) {
+            criteria.and("approved").is(false);
+        }
+
+        return mongoTemplate.remove(new Query(criteria), Material.class)
+                .getDeletedCount();
+    }
+
+    @Override
+    public Set<String> findExistingIds(Collection<String> ids) {
+        Query query = new Query(Criteria.where("_id").in(ids));
+        query.fields().include("_id");
+
+        Set<String> existing = new HashSet<>();
+        for (Material material : mongoTemplate.find(query, Material.class)) {
+            existing.add(material.getId());
+        }
+        return existing;
+    }
+
+    @Override
+    public Material approve(String id) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(id).and("approved").is(false)),
+                Update.update("approved", true)
+                        .set("approvedAt", new Date())
+                        .inc("version", 1),
+                FindAndModifyOptions.options().returnNew(false),
+                Material.class
+        );
+    }
+
+    @Override
+    public Material rename(String id, String fileName, Long expectedVersion) {
+        Criteria criteria = Criteria.where("_id").is(id);
+        if (expectedVersion != null) {
+            criteria.and("version").is(expectedVersion);
+        }
+
+        return mongoTemplate.findAndModify(
+                new Query(criteria),
+                Update.update("fileName", fileName).inc("version", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Material.class
+        );
+    }
+
+    @Override
+    public void setContentHash(String id, String contentHash) {
+        mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(id)),
+                Update.update("contentHash", contentHash),
+                Material.class
+        );
+    }
+
+    @Override
+    public void addEncoding(String filePath, String encoding) {
+        mongoTemplate.updateMulti(
+                new Query(Criteria.where("filePath").is(filePath)),
+                new Update().addToSet("encodings", encoding),
+                Material.class
+        );
+    }
+
+    private List<ObjectId> findContentMatches(String text) {
+        Query query = MaterialQueries.contentMatches(text);
+
+        List<ObjectId> ids = new ArrayList<>();
+        for (MaterialContent content : mongoTemplate.find(query, MaterialContent.class)) {
+            if (ObjectId.isValid(content.getId())) {
+                ids.add(new ObjectId(content.getId()));
+            }
+        }
+        return ids;
+    }
+}
@@ -3,8 +3,7 @@ package com.example.study_share_backend.repository;
 import com.example.study_share_backend.model.User;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
-import java.util.Optional;
-
-public interface UserRepository extends MongoRepository<User, String> {
-    Optional<User> findByEmail(String email);
+public interface UserRepository extends MongoRepository<User, String>, UserRepositoryCustom {
+    // Index-only existence check for the send-OTP pre-check; pass a normalized email
+    boolean existsByEmail(String email);
 }
@@ -0,0 +1,31 @@
+package com.example.study_share_backend.repository;
+
+import com.example.study_share_backend.dto.UserSummary;
+import com.example.study_share_backend.model.User;
+import org.springframework.data.domain.Sort;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+
+    // Sets the role and bumps tokenVersion in one atomic update; returns the
+    // updated user, or null if it does not exist
+    User updateRole(String id, String role);
+
+    // Replaces the password hash only if it is still expectedHash; true if replaced
+    boolean updatePassword(String id, String expectedHash, String newHash);
+
+    // What login needs (id, name, email, password hash, role, tokenVersion)
+    // for a normalized email, or null
+    User findCredentials(String email);
+
+    // One page of users whose email or name starts with prefix (null = all),
+    // summary fields only
+    List<UserSummary> findSummaries(String prefix, Sort sort, int page, int size);
+
+    long countByPrefix(String prefix);
+
+    // Cursor-backed stream in _id order; close it to release the cursor
+    Stream<UserSummary> streamSummaries(String prefix);
+}
@@ -0,0 +1,120 @@
+package com.example.study_share_backend.repository;
+
+import com.example.study_share_backend.dto.UserSummary;
+import com.example.study_share_backend.model.User;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // Documents pulled per cursor batch while streaming an export
+    private static final int EXPORT_BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    public UserRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public User updateRole(String id, String role) {
+        return mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(id)),
+                new Update().set("role", role).inc("tokenVersion", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                User.class
+        );
+    }
+
+    @Override
+    public boolean updatePassword(String id, String expectedHash, String newHash) {
+        return mongoTemplate.updateFirst(
+                new Query(Criteria.where("_id").is(id).and("password").is(expectedHash)),
+                Update.update("password", newHash),
+                User.class
+        ).getModifiedCount() > 0;
+    }
+
+    @Override
+    public User findCredentials(String email) {
+        Query query = new Query(Criteria.where("email").is(email));
+        query.fields()
+                .include("name")
+                .include("email")
+                .include("password")
+                .include("role")
+                .include("tokenVersion");
+
+        return mongoTemplate.findOne(query, User.class);
+    }
+
+    @Override
+    public List<UserSummary> findSummaries(String prefix, Sort sort, int page, int size) {
+        Query query = summaryQuery(prefix)
+                .with(sort)
+                .skip((long) page * size)
+                .limit(size);
+
+        return mongoTemplate.find(query, UserSummary.class, mongoTemplate.getCollectionName(User.class));
+    }
+
+    @Override
+    public long countByPrefix(String prefix) {
+        return mongoTemplate.count(new Query(prefixCriteria(prefix)), User.class);
+    }
+
+    @Override
+    public Stream<UserSummary> streamSummaries(String prefix) {
+        Query query = summaryQuery(prefix)
+                .with(Sort.by(Sort.Direction.ASC, "_id"))
+                .cursorBatchSize(EXPORT_BATCH_SIZE);
+
+        return mongoTemplate.stream(query, UserSummary.class, mongoTemplate.getCollectionName(User.class));
+    }
+
+    private static Query summaryQuery(String prefix) {
+        Query query = new Query(prefixCriteria(prefix));
+        query.fields()
+                .include("name")
+                .include("email")
+                .include("role");
+
+        return query;
+    }
+
+    // Anchored, case-sensitive regexes, so each branch is a range scan on its index.
+    // Emails are matched lower-cased, names as typed.
+    private static Criteria prefixCriteria(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return new Criteria();
+        }
+
+        String trimmed = prefix.trim();
+        return new Criteria().orOperator(
+                Criteria.where("email").regex("^" + escape(trimmed.toLowerCase(Locale.ROOT))),
+                Criteria.where("name").regex("^" + escape(trimmed))
+        );
+    }
+
+    // Backslash-escapes metacharacters. Unlike \Q...\E this keeps the pattern a
+    // "simple prefix" that Mongo turns into tight index bounds.
+    private static String escape(String literal) {
+        StringBuilder escaped = new StringBuilder(literal.length() + 8);
+        for (int i = 0; i < literal.length(); i++) {
+            char c = literal.charAt(i);
+            if ("\\^$.|?*+()[]{}".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        return escaped.toString();
+    }
+}
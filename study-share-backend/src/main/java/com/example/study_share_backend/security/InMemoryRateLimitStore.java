@@ -0,0 +1,80 @@
+package com.example.study_share_backend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Single-node buckets: one GCRA "theoretical arrival time" (TAT) per key,
+// updated atomically through the cache's compute. Each limit has its own cache,
+// so rotating keys under one limit cannot evict another limit's buckets. An
+// entry expires only after its bucket is full again, never while its window is
+// still open.
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRateLimitStore implements RateLimitStore {
+
+    // nanoTime can be negative; measure from a fixed origin instead
+    private final long origin = System.nanoTime();
+
+    private final long maxKeysPerLimit;
+
+    private final Map<String, Cache<String, Long>> limits = new ConcurrentHashMap<>();
+
+    public InMemoryRateLimitStore(
+            @Value("${rate-limit.max-keys:100000}") long maxKeysPerLimit
+    ) {
+        this.maxKeysPerLimit = maxKeysPerLimit;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        long interval = limit.intervalNanos();
+        long burst = limit.burstNanos();
+        long now = System.nanoTime() - origin;
+        long[] wait = new long[1];
+
+        buckets(limit).asMap().compute(key, (k, arrival) -> {
+            long next = Math.max(arrival == null ? now : arrival, now) + interval;
+            if (next - now > burst) {
+                wait[0] = next - now - burst;
+                return arrival;
+            }
+            return next;
+        });
+        return wait[0];
+    }
+
+    private Cache<String, Long> buckets(RateLimit limit) {
+        return limits.computeIfAbsent(limit.name(), name -> Caffeine.newBuilder()
+                .maximumSize(maxKeysPerLimit)
+                .expireAfter(untilFull(limit.burstNanos()))
+                .build());
+    }
+
+    // Kept until arrival + burst. The bucket is full from arrival on, so dropping
+    // the entry then can never hand the key a fresh budget early.
+    private Expiry<String, Long> untilFull(long burst) {
+        return new Expiry<>() {
+            @Override
+            public long expireAfterCreate(String key, Long arrival, long currentTime) {
+                return Math.max(0, arrival + origin - currentTime + burst);
+            }
+
+            @Override
+            public long expireAfterUpdate(String key, Long arrival, long currentTime, long currentDuration) {
+                return expireAfterCreate(key, arrival, currentTime);
+            }
+
+            @Override
+            public long expireAfterRead(String key, Long arrival, long currentTime, long currentDuration) {
+                return currentDuration;
+            }
+        };
+    }
+}
@@ -5,19 +5,31 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.List;
+import java.util.Map;
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    // Shared, immutable authority lists per role (no per-request allocation)
+    private static final Map<String, List<GrantedAuthority>> ROLE_AUTHORITIES = Map.of(
+            "ADMIN", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")),
+            "USER", List.of(new SimpleGrantedAuthority("ROLE_USER"))
+    );
+
     private final JwtUtil jwtUtil;
+    private final TokenVersionService tokenVersionService;
 
-    public JwtFilter(JwtUtil jwtUtil) {
+    public JwtFilter(JwtUtil jwtUtil, TokenVersionService tokenVersionService) {
         this.jwtUtil = jwtUtil;
+        this.tokenVersionService = tokenVersionService;
     }
 
     @Override
@@ -42,13 +54,18 @@ public class JwtFilter extends OncePerRequestFilter {
             String token = authHeader.substring(7);
 
             try {
-                String email = jwtUtil.validateAndExtract(token);
+                TokenClaims claims = jwtUtil.verify(token);
+
+                // Role changed since the token was issued
+                if (!tokenVersionService.isCurrent(claims)) {
+                    throw new IllegalStateException("Stale token version");
+                }
 
                 UsernamePasswordAuthenticationToken authentication =
                         new UsernamePasswordAuthenticationToken(
-                                email,
+                                claims.email(),
                                 null,
-                                Collections.emptyList()
+                                authoritiesFor(claims.role())
                         );
 
                 SecurityContextHolder.getContext()
@@ -65,4 +82,11 @@ public class JwtFilter extends OncePerRequestFilter {
 
         chain.doFilter(request, response);
     }
+
+    private static List<GrantedAuthority> authoritiesFor(String role) {
+        if (role == null) {
+            return Collections.emptyList();
+        }
+        return ROLE_AUTHORITIES.getOrDefault(role, Collections.emptyList());
+    }
 }
@@ -1,14 +1,27 @@
 package com.example.study_share_backend.security;
 
+import com.example.study_share_backend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
-public class JwtUtil {
+public class JwtUtil implements MeterBinder {
 
     // 🔐 MUST be at least 32 chars for HS256
     private static final String SECRET =
@@ -16,12 +29,54 @@ public class JwtUtil {
 
     private static final long EXPIRY = 24 * 60 * 60 * 1000; // 24 hours
 
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_TOKEN_VERSION = "tv";
+
     private final Key key = Keys.hmacShaKeyFor(SECRET.getBytes());
 
-    // ✅ Generate JWT
-    public String generateToken(String email) {
+    // Immutable and thread-safe: built once instead of per request
+    private final JwtParser parser = Jwts.parserBuilder()
+            .setSigningKey(key)
+            .build();
+
+    // token digest -> verified claims; each entry expires with its token
+    private final Cache<String, TokenClaims> verifiedTokens;
+
+    public JwtUtil(@Value("${jwt.cache.max-size:10000}") long cacheMaxSize) {
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfter(new Expiry<String, TokenClaims>() {
+                    @Override
+                    public long expireAfterCreate(String digest, TokenClaims claims, long currentTime) {
+                        long millisLeft = claims.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, millisLeft));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String digest, TokenClaims claims,
+                                                  long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String digest, TokenClaims claims,
+                                                long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+    }
+
+    // ✅ Generate JWT (role, id and token version travel as claims, so requests
+    // can be authorized without loading the user)
+    public String generateToken(User user) {
         return Jwts.builder()
-                .setSubject(email)
+                .setSubject(user.getEmail())
+                .claim(CLAIM_USER_ID, user.getId())
+                .claim(CLAIM_ROLE, user.getRole())
+                .claim(CLAIM_TOKEN_VERSION, user.getTokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRY))
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -30,11 +85,41 @@ public class JwtUtil {
 
     // ✅ Validate & extract email
     public String validateAndExtract(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return verify(token).email();
+    }
+
+    // Verified claims, parsed at most once per token while it is valid.
+    // Invalid or expired tokens throw and are never cached.
+    public TokenClaims verify(String token) {
+        return verifiedTokens.get(digest(token), d -> parse(token));
+    }
+
+    // Size, hits, misses and evictions of the verified-token cache, as cache.* with cache=jwt
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, verifiedTokens, "jwt");
+    }
+
+    private TokenClaims parse(String token) {
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        Integer tokenVersion = claims.get(CLAIM_TOKEN_VERSION, Integer.class);
+
+        return new TokenClaims(
+                claims.getSubject(),
+                claims.get(CLAIM_USER_ID, String.class),
+                claims.get(CLAIM_ROLE, String.class),
+                tokenVersion == null ? 0 : tokenVersion,
+                claims.getExpiration().toInstant()
+        );
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
@@ -0,0 +1,59 @@
+package com.example.study_share_backend.security;
+
+import com.example.study_share_backend.model.RateLimitBucket;
+import org.bson.Document;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Buckets shared by all nodes. Each acquire is one upserting findAndModify whose
+// pipeline applies the GCRA step on the server, so concurrent nodes never race.
+@Component
+@ConditionalOnProperty(name = "rate-limit.store", havingValue = "mongo")
+public class MongoRateLimitStore implements RateLimitStore {
+
+    private final MongoTemplate mongoTemplate;
+
+    public MongoRateLimitStore(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public long tryAcquire(String key, RateLimit limit) {
+        long now = System.currentTimeMillis();
+        long interval = TimeUnit.NANOSECONDS.toMillis(limit.intervalNanos());
+        long burst = TimeUnit.NANOSECONDS.toMillis(limit.burstNanos());
+
+        // next = max(tat, now) + interval; allowed if next - now <= burst
+        Document next = new Document("$add", List.of(new Document("$max", List.of("$tat", now)), interval));
+
+        AggregationUpdate update = AggregationUpdate.from(List.of(
+                context -> new Document("$set", new Document("allowed",
+                        new Document("$lte", List.of(next, now + burst)))),
+                context -> new Document("$set", new Document("tat",
+                        new Document("$cond", List.of("$allowed", next, "$tat")))),
+                context -> new Document("$set", new Document("expiresAt",
+                        new Document("$toDate", "$tat")))
+        ));
+
+        RateLimitBucket bucket = mongoTemplate.findAndModify(
+                new Query(Criteria.where("_id").is(key)),
+                update,
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                RateLimitBucket.class
+        );
+
+        if (bucket == null || bucket.isAllowed()) {
+            return 0;
+        }
+        long waitMillis = Math.max(bucket.getTat(), now) + interval - now - burst;
+        return TimeUnit.MILLISECONDS.toNanos(Math.max(1, waitMillis));
+    }
+}
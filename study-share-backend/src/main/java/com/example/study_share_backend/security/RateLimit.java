@@ -0,0 +1,46 @@
+package com.example.study_share_backend.security;
+
+import java.util.concurrent.TimeUnit;
+
+// Token bucket: up to capacity requests at once, refilled at refillPerMinute.
+// Stores evaluate it as GCRA, which needs only one timestamp per key.
+public record RateLimit(String name, int capacity, double refillPerMinute) {
+
+    // "capacity,refillPerMinute", e.g. "10,0.5" = burst of 10, then one every 2 minutes
+    public static RateLimit parse(String name, String spec) {
+        String[] parts = spec.split(",");
+        if (parts.length != 2) {
+            throw invalid(name, spec);
+        }
+
+        int capacity;
+        double refillPerMinute;
+        try {
+            capacity = Integer.parseInt(parts[0].trim());
+            refillPerMinute = Double.parseDouble(parts[1].trim());
+        } catch (NumberFormatException e) {
+            throw invalid(name, spec);
+        }
+
+        // A zero refill would make intervalNanos() infinite and burstNanos() overflow
+        if (capacity < 1 || !(refillPerMinute > 0) || Double.isInfinite(refillPerMinute)) {
+            throw new IllegalArgumentException("Rate limit " + name
+                    + " needs capacity >= 1 and a positive, finite refill: " + spec);
+        }
+        return new RateLimit(name, capacity, refillPerMinute);
+    }
+
+    private static IllegalArgumentException invalid(String name, String spec) {
+        return new IllegalArgumentException("Rate limit " + name + " must be \"capacity,refillPerMinute\": " + spec);
+    }
+
+    // Time one token takes to refill
+    public long intervalNanos() {
+        return (long) (TimeUnit.MINUTES.toNanos(1) / refillPerMinute);
+    }
+
+    // Time an empty bucket takes to refill completely
+    public long burstNanos() {
+        return intervalNanos() * capacity;
+    }
+}
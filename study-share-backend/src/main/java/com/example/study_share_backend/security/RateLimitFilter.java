@@ -0,0 +1,294 @@
+package com.example.study_share_backend.security;
+
+import com.example.study_share_backend.model.User;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Admission control for the endpoints that cost SMTP sends, bcrypt checks or
+// disk writes. Runs in the security chain ahead of JwtFilter and answers 429
+// before the controller (or multipart parsing) is reached.
+//
+//   POST /api/auth/send-otp   per IP, per email
+//   POST /api/auth/register   per IP, per email (bounds OTP guesses)
+//   POST /api/auth/login      per IP, per email
+//   POST /api/materials/upload per IP, per user (from the JWT)
+//
+// The email is read from the JSON body the same way the controller binds it.
+// A body without one is charged to a per-IP bucket under the email limit.
+//
+// IP limits are generous because a whole campus can sit behind one NAT address;
+// behind a proxy set server.forward-headers-strategy so getRemoteAddr() is the client.
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String SEND_OTP = "/api/auth/send-otp";
+    private static final String REGISTER = "/api/auth/register";
+    private static final String LOGIN = "/api/auth/login";
+    private static final String UPLOAD = "/api/materials/upload";
+
+    // Auth bodies are tiny JSON objects; anything larger is refused unread
+    private static final int MAX_AUTH_BODY_BYTES = 8 * 1024;
+
+    private final RateLimitStore store;
+    private final JwtUtil jwtUtil;
+    private final JsonMapper jsonMapper;
+    private final boolean enabled;
+
+    private final RateLimit otpIp;
+    private final RateLimit otpEmail;
+    private final RateLimit registerIp;
+    private final RateLimit registerEmail;
+    private final RateLimit loginIp;
+    private final RateLimit loginEmail;
+    private final RateLimit uploadIp;
+    private final RateLimit uploadUser;
+
+    // Limit name -> requests rejected by it
+    private final Map<String, LongAdder> rejections = new LinkedHashMap<>();
+
+    public RateLimitFilter(
+            RateLimitStore store,
+            JwtUtil jwtUtil,
+            JsonMapper jsonMapper,
+            @Value("${rate-limit.enabled:true}") boolean enabled,
+            @Value("${rate-limit.otp-ip:30,2}") String otpIp,
+            @Value("${rate-limit.otp-email:3,0.2}") String otpEmail,
+            @Value("${rate-limit.register-ip:30,2}") String registerIp,
+            @Value("${rate-limit.register-email:5,0.5}") String registerEmail,
+            @Value("${rate-limit.login-ip:200,600}") String loginIp,
+            @Value("${rate-limit.login-email:10,0.5}") String loginEmail,
+            @Value("${rate-limit.upload-ip:60,20}") String uploadIp,
+            @Value("${rate-limit.upload-user:10,0.5}") String uploadUser
+    ) {
+        this.store = store;
+        this.jwtUtil = jwtUtil;
+        this.jsonMapper = jsonMapper;
+        this.enabled = enabled;
+
+        this.otpIp = register(RateLimit.parse("otp-ip", otpIp));
+        this.otpEmail = register(RateLimit.parse("otp-email", otpEmail));
+        this.registerIp = register(RateLimit.parse("register-ip", registerIp));
+        this.registerEmail = register(RateLimit.parse("register-email", registerEmail));
+        this.loginIp = register(RateLimit.parse("login-ip", loginIp));
+        this.loginEmail = register(RateLimit.parse("login-email", loginEmail));
+        this.uploadIp = register(RateLimit.parse("upload-ip", uploadIp));
+        this.uploadUser = register(RateLimit.parse("upload-user", uploadUser));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!enabled || !"POST".equals(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI();
+
+        return !path.equals(SEND_OTP)
+                && !path.equals(REGISTER)
+                && !path.equals(LOGIN)
+                && !path.equals(UPLOAD);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            HttpServletRequest request,
+            HttpServletResponse response,
+            FilterChain chain
+    ) throws ServletException, IOException {
+
+        String ip = request.getRemoteAddr();
+        String path = request.getRequestURI();
+
+        if (path.equals(UPLOAD)) {
+            if (reject(response, uploadIp, ip) || reject(response, uploadUser, userId(request))) {
+                return;
+            }
+            chain.doFilter(request, response);
+            return;
+        }
+
+        RateLimit ipLimit = switch (path) {
+            case SEND_OTP -> otpIp;
+            case REGISTER -> registerIp;
+            default -> loginIp;
+        };
+        RateLimit emailLimit = switch (path) {
+            case SEND_OTP -> otpEmail;
+            case REGISTER -> registerEmail;
+            default -> loginEmail;
+        };
+
+        if (reject(response, ipLimit, ip)) {
+            return;
+        }
+
+        BufferedRequest buffered = BufferedRequest.read(request);
+        if (buffered == null) {
+            response.sendError(HttpServletResponse.SC_REQUEST_ENTITY_TOO_LARGE);
+            return;
+        }
+
+        String email = email(buffered.body);
+        if (reject(response, emailLimit, email != null ? email : "no-email:" + ip)) {
+            return;
+        }
+        chain.doFilter(buffered, response);
+    }
+
+    public long rejections(String limitName) {
+        return rejections.get(limitName).sum();
+    }
+
+    public Set<String> limitNames() {
+        return rejections.keySet();
+    }
+
+    // ================= HELPERS =================
+
+    private RateLimit register(RateLimit limit) {
+        rejections.put(limit.name(), new LongAdder());
+        return limit;
+    }
+
+    // Same value the controller binds: Jackson keeps the last of duplicate keys
+    // and decodes escapes. Null when the body is not an object with a string email.
+    private String email(byte[] body) {
+        try {
+            JsonNode email = jsonMapper.readTree(body).get("email");
+            if (email == null || !email.isString()) {
+                return null;
+            }
+            String normalized = User.normalizeEmail(email.asString());
+            return normalized.isEmpty() ? null : normalized;
+        } catch (JacksonException e) {
+            return null;
+        }
+    }
+
+    // True if the request was rejected (and answered); a null key is not limited
+    private boolean reject(HttpServletResponse response, RateLimit limit, String key) throws IOException {
+        if (key == null) {
+            return false;
+        }
+
+        long waitNanos = store.tryAcquire(limit.name() + ":" + key, limit);
+        if (waitNanos == 0) {
+            return false;
+        }
+
+        rejections.get(limit.name()).increment();
+
+        long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+        response.setStatus(429);
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"Too many requests, try again in "
+                + retryAfterSeconds + " seconds\"}");
+        return true;
+    }
+
+    // Verified claims come from JwtUtil's cache, so this is cheap; an invalid
+    // token is left for JwtFilter to reject
+    private String userId(HttpServletRequest request) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+            return null;
+        }
+        try {
+            TokenClaims claims = jwtUtil.verify(authHeader.substring(7));
+            return claims.userId() != null ? claims.userId() : claims.email();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    // Holds the whole (small) body so it can be parsed here and replayed in
+    // full to the controller, through either getInputStream() or getReader()
+    private static final class BufferedRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        private BufferedRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        // Null if the body is larger than MAX_AUTH_BODY_BYTES
+        static BufferedRequest read(HttpServletRequest request) throws IOException {
+            byte[] body = request.getInputStream().readNBytes(MAX_AUTH_BODY_BYTES + 1);
+            return body.length > MAX_AUTH_BODY_BYTES ? null : new BufferedRequest(request, body);
+        }
+
+        @Override
+        public BufferedReader getReader() throws IOException {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+
+            return new ServletInputStream() {
+
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int off, int len) {
+                    return in.read(buffer, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // Everything is already in memory, so async readers get it at once
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        if (!isFinished()) {
+                            listener.onDataAvailable();
+                        }
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+    }
+}
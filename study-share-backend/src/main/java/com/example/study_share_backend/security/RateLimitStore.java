@@ -0,0 +1,10 @@
+package com.example.study_share_backend.security;
+
+// Per-key token buckets behind RateLimitFilter. Selected with "rate-limit.store"
+// (memory | mongo).
+public interface RateLimitStore {
+
+    // Takes one token from the bucket of key under limit. Returns 0 if it was
+    // taken, otherwise the nanoseconds until one is available.
+    long tryAcquire(String key, RateLimit limit);
+}
@@ -0,0 +1,14 @@
+package com.example.study_share_backend.security;
+
+import java.time.Instant;
+
+// Verified, immutable view of a JWT's claims; safe to cache and share across threads.
+// userId / role are null for tokens issued before those claims existed.
+public record TokenClaims(
+        String email,
+        String userId,
+        String role,
+        int tokenVersion,
+        Instant expiresAt
+) {
+}
@@ -0,0 +1,57 @@
+package com.example.study_share_backend.security;
+
+import com.example.study_share_backend.model.User;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+// Current token version per user, cached so the JWT filter normally needs no
+// database round-trip. Changes made on this node apply immediately; changes
+// made on other nodes are picked up once the cached value expires.
+@Component
+public class TokenVersionService {
+
+    // Cached for users that no longer exist, so all their tokens are rejected
+    private static final int UNKNOWN_USER = -1;
+
+    private final MongoTemplate mongoTemplate;
+    private final Cache<String, Integer> versions;
+
+    public TokenVersionService(
+            MongoTemplate mongoTemplate,
+            @Value("${jwt.token-version.cache-ttl-seconds:60}") long ttlSeconds,
+            @Value("${jwt.token-version.cache-max-size:10000}") long maxSize
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
+    public boolean isCurrent(TokenClaims claims) {
+        // Tokens issued before ids were embedded carry no role either
+        if (claims.userId() == null) {
+            return true;
+        }
+        return versions.get(claims.userId(), this::loadVersion) == claims.tokenVersion();
+    }
+
+    public void update(String userId, int tokenVersion) {
+        versions.put(userId, tokenVersion);
+    }
+
+    private int loadVersion(String userId) {
+        Query query = new Query(Criteria.where("_id").is(userId));
+        query.fields().include("tokenVersion");
+
+        User user = mongoTemplate.findOne(query, User.class);
+        return user == null ? UNKNOWN_USER : user.getTokenVersion();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.model.StoredBlob;
+import com.example.study_share_backend.storage.StorageService;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+// Reference counts for content-addressed blobs, shared by identical uploads.
+// Uploads count their reference before writing the blob; deletes only drop the
+// count. Files are removed by the sweeper once a blob has been unreferenced for
+// the grace period, after claiming it so that an upload of the same content
+// waits for the delete to finish and then writes the blob again.
+@Service
+public class BlobReferenceService {
+
+    private static final Logger log = LoggerFactory.getLogger(BlobReferenceService.class);
+
+    private static final int ACQUIRE_ATTEMPTS = 50;
+    private static final long ACQUIRE_RETRY_MS = 100;
+
+    private static final int SWEEP_BATCH = 1000;
+
+    // A claim older than this belongs to a node that died mid-delete
+    private static final long STALE_CLAIM_MS = 10 * 60 * 1000;
+
+    private final MongoTemplate mongoTemplate;
+    private final StorageService storageService;
+    private final long graceMs;
+
+    public BlobReferenceService(
+            MongoTemplate mongoTemplate,
+            StorageService storageService,
+            @Value("${storage.blob-sweep.grace-ms:3600000}") long graceMs
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.storageService = storageService;
+        this.graceMs = graceMs;
+    }
+
+    // +1 reference. Once this returns the sweeper leaves the blob alone, so the
+    // caller can rely on an existing file or write a missing one.
+    public void acquire(String key) throws IOException {
+        Query query = new Query(Criteria.where("_id").is(key).and("deleting").ne(true));
+        Update update = new Update().inc("refs", 1).unset("releasedAt");
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                mongoTemplate.upsert(query, update, StoredBlob.class);
+                return;
+            } catch (DuplicateKeyException e) {
+                // The sweeper is deleting this blob; it finishes in one storage delete
+                if (attempt == ACQUIRE_ATTEMPTS) {
+                    throw new IOException("Stored blob " + key + " is still being deleted", e);
+                }
+                sleep();
+            }
+        }
+    }
+
+    public void release(String key) {
+        if (key != null) {
+            releaseAll(Map.of(key, 1L));
+        }
+    }
+
+    // key -> references to drop, in one bulk write. Reaching 0 stamps releasedAt.
+    public void releaseAll(Map<String, Long> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+
+        BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, StoredBlob.class);
+        counts.forEach((key, count) -> bulk.updateOne(
+                new Query(Criteria.where("_id").is(key).and("refs").gt(0)),
+                releaseUpdate(count)
+        ));
+        bulk.execute();
+    }
+
+    // ================= SWEEPER =================
+
+    @Scheduled(fixedDelayString = "${storage.blob-sweep.interval-ms:300000}")
+    public void sweep() {
+        for (int i = 0; i < SWEEP_BATCH; i++) {
+            StoredBlob blob = claim();
+            if (blob == null || !delete(blob.getKey())) {
+                return;
+            }
+        }
+    }
+
+    private StoredBlob claim() {
+        long now = System.currentTimeMillis();
+
+        Criteria released = Criteria.where("deleting").ne(true)
+                .and("refs").lte(0)
+                .and("releasedAt").lt(new Date(now - graceMs));
+        Criteria abandoned = Criteria.where("deleting").is(true)
+                .and("deletingSince").lt(new Date(now - STALE_CLAIM_MS));
+
+        return mongoTemplate.findAndModify(
+                new Query(new Criteria().orOperator(released, abandoned)),
+                Update.update("deleting", true).set("deletingSince", new Date(now)),
+                FindAndModifyOptions.options().returnNew(true),
+                StoredBlob.class
+        );
+    }
+
+    // Blob and precompressed variants first, then the claim; false on failure
+    private boolean delete(String key) {
+        Query claimed = new Query(Criteria.where("_id").is(key).and("deleting").is(true));
+
+        try {
+            storageService.delete(PrecompressionService.variantKey(key, PrecompressionService.GZIP));
+            storageService.delete(key);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Failed to delete stored blob {}, retrying on the next sweep", key, e);
+            mongoTemplate.updateFirst(
+                    claimed,
+                    Update.update("deleting", false).unset("deletingSince"),
+                    StoredBlob.class
+            );
+            return false;
+        }
+
+        mongoTemplate.remove(claimed, StoredBlob.class);
+        return true;
+    }
+
+    // ================= HELPERS =================
+
+    // refs = max(0, refs - count); releasedAt = now when that is 0
+    private static AggregationUpdate releaseUpdate(long count) {
+        Document refs = new Document("$max", List.of(0, new Document("$subtract", List.of("$refs", count))));
+
+        return AggregationUpdate.from(List.of(
+                context -> new Document("$set", new Document("refs", refs)),
+                context -> new Document("$set", new Document("releasedAt",
+                        new Document("$cond", List.of(
+                                new Document("$lte", List.of("$refs", 0)), "$$NOW", "$$REMOVE"
+                        )))
+                )
+        ));
+    }
+
+    private static void sleep() throws IOException {
+        try {
+            Thread.sleep(ACQUIRE_RETRY_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for a stored blob", e);
+        }
+    }
+}
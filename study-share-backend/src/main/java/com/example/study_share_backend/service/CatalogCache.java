@@ -0,0 +1,94 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.config.CacheConfig;
+import com.example.study_share_backend.dto.MaterialPage;
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.event.CacheInvalidationBroadcaster;
+import com.example.study_share_backend.event.MaterialChangedEvent;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.Callable;
+
+// Read-through cache for the student catalog (listing pages and searches).
+// A change evicts only the entries whose filters could include that material.
+@Component
+public class CatalogCache {
+
+    // Filters + paging of one catalog request; null filter = "any"
+    public record Key(
+            String text,
+            Integer semester,
+            String subject,
+            String materialType,
+            String cursor,
+            int page,
+            int limit
+    ) {
+
+        boolean couldContain(MaterialChangedEvent event) {
+            return (semester == null || semester.equals(event.semester()))
+                    && (isBlank(subject) || subject.equals(event.subject()))
+                    && (isBlank(materialType) || materialType.equals(event.materialType()));
+        }
+
+        private static boolean isBlank(String value) {
+            return value == null || value.isEmpty();
+        }
+    }
+
+    private final Cache catalog;
+    private final Cache catalogSearch;
+    private final CacheInvalidationBroadcaster broadcaster;
+
+    // Single node when no broadcaster bean is defined: nothing to tell
+    public CatalogCache(CacheManager cacheManager, ObjectProvider<CacheInvalidationBroadcaster> broadcaster) {
+        this.catalog = Objects.requireNonNull(cacheManager.getCache(CacheConfig.CATALOG));
+        this.catalogSearch = Objects.requireNonNull(cacheManager.getCache(CacheConfig.CATALOG_SEARCH));
+        this.broadcaster = broadcaster.getIfAvailable(() -> event -> { });
+    }
+
+    public MaterialPage listing(Key key, Callable<MaterialPage> loader) {
+        return catalog.get(key, loader);
+    }
+
+    public MaterialSearchResult search(Key key, Callable<MaterialSearchResult> loader) {
+        return catalogSearch.get(key, loader);
+    }
+
+    // ================= INVALIDATION =================
+
+    @EventListener
+    public void onMaterialChanged(MaterialChangedEvent event) {
+        if (evict(event)) {
+            broadcaster.broadcast(event);
+        }
+    }
+
+    // Entry point for events received from other nodes
+    public void applyRemote(MaterialChangedEvent event) {
+        evict(event);
+    }
+
+    private boolean evict(MaterialChangedEvent event) {
+        // Pending materials are invisible to students, so nothing cached can change
+        if (!event.catalogVisible()) {
+            return false;
+        }
+        evictMatching(catalog, event);
+        evictMatching(catalogSearch, event);
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void evictMatching(Cache cache, MaterialChangedEvent event) {
+        var nativeCache = (com.github.benmanes.caffeine.cache.Cache<Object, Object>) cache.getNativeCache();
+
+        nativeCache.asMap().keySet()
+                .removeIf(key -> key instanceof Key k && k.couldContain(event));
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.event.MaterialChangedEvent;
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.model.MaterialContent;
+import com.example.study_share_backend.repository.MaterialContentRepository;
+import com.example.study_share_backend.repository.MaterialRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Extracts text from uploaded files in the background. Work goes through a bounded
+// queue to a small worker pool; anything that does not fit (or was queued before a
+// restart) stays PENDING in Mongo and is picked up again by requeuePending(), as
+// is a PROCESSING entry whose lease expired because its node died mid-extraction.
+@Service
+public class ContentIndexService {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentIndexService.class);
+
+    private final MaterialRepository materialRepository;
+    private final MaterialContentRepository contentRepository;
+    private final MaterialService materialService;
+    private final TextExtractor textExtractor;
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final ThreadPoolExecutor workers;
+    private final int maxTerms;
+    private final long leaseMs;
+
+    // Ids queued or being processed on this node
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    public ContentIndexService(
+            MaterialRepository materialRepository,
+            MaterialContentRepository contentRepository,
+            MaterialService materialService,
+            TextExtractor textExtractor,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${content.index.workers:2}") int workerCount,
+            @Value("${content.index.queue-capacity:500}") int queueCapacity,
+            @Value("${content.index.max-terms:20000}") int maxTerms,
+            @Value("${content.index.lease-ms:900000}") long leaseMs
+    ) {
+        this.materialRepository = materialRepository;
+        this.contentRepository = contentRepository;
+        this.materialService = materialService;
+        this.textExtractor = textExtractor;
+        this.eventPublisher = eventPublisher;
+        this.maxTerms = maxTerms;
+        this.leaseMs = leaseMs;
+
+        this.workers = new ThreadPoolExecutor(
+                workerCount, workerCount,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("content-indexer-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+    }
+
+    // Called after upload; never blocks the request on extraction
+    public void submit(Material material) {
+        contentRepository.save(new MaterialContent(material.getId()));
+        enqueue(material.getId());
+    }
+
+    public void remove(String materialId) {
+        contentRepository.deleteById(materialId);
+    }
+
+    // ================= BACKLOG =================
+
+    @Scheduled(fixedDelayString = "${content.index.requeue-interval-ms:60000}")
+    public void requeuePending() {
+        int room = workers.getQueue().remainingCapacity();
+        if (room == 0) {
+            return;
+        }
+
+        PageRequest oldestFirst = PageRequest.of(0, room, Sort.by("queuedAt"));
+        List<MaterialContent> backlog = contentRepository.findByStatus(MaterialContent.PENDING, oldestFirst);
+
+        if (backlog.size() < room) {
+            backlog = new ArrayList<>(backlog);
+            backlog.addAll(contentRepository.findByStatusAndProcessingStartedAtBefore(
+                    MaterialContent.PROCESSING,
+                    new Date(System.currentTimeMillis() - leaseMs),
+                    PageRequest.of(0, room - backlog.size(), Sort.by("processingStartedAt"))
+            ));
+        }
+
+        for (MaterialContent content : backlog) {
+            enqueue(content.getId());
+        }
+    }
+
+    public int queueDepth() {
+        return workers.getQueue().size();
+    }
+
+    public long completedCount() {
+        return completed.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    // ================= WORKER =================
+
+    private void enqueue(String materialId) {
+        if (!inFlight.add(materialId)) {
+            return;
+        }
+        try {
+            workers.execute(() -> {
+                try {
+                    index(materialId);
+                } finally {
+                    inFlight.remove(materialId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Queue full: stays PENDING until requeuePending() finds room
+            inFlight.remove(materialId);
+        }
+    }
+
+    private void index(String materialId) {
+        Material material = materialRepository.findById(materialId).orElse(null);
+        if (material == null) {
+            remove(materialId);
+            return;
+        }
+
+        MaterialContent content = contentRepository.findById(materialId)
+                .orElseGet(() -> new MaterialContent(materialId));
+
+        if (!textExtractor.supports(material.getFileName())) {
+            content.setStatus(MaterialContent.UNSUPPORTED);
+            contentRepository.save(content);
+            return;
+        }
+
+        content.setStatus(MaterialContent.PROCESSING);
+        content.setProcessingStartedAt(new Date());
+        contentRepository.save(content);
+
+        try {
+            TextExtractor.Extracted extracted =
+                    textExtractor.extract(material.getFileName(), materialService.load(material));
+
+            content.setTerms(textExtractor.terms(extracted.text(), maxTerms));
+            content.setPageCount(extracted.pageCount());
+            content.setStatus(MaterialContent.DONE);
+            content.setError(null);
+            completed.incrementAndGet();
+
+        } catch (Exception e) {
+            log.warn("Text extraction failed for material {}", materialId, e);
+            content.setStatus(MaterialContent.FAILED);
+            content.setError(e.getMessage());
+            failed.incrementAndGet();
+        }
+
+        content.setIndexedAt(new Date());
+
+        // Deleted while extracting: its remove() already ran, so saving would
+        // leave an orphan. Checked again after the save for a delete in between.
+        if (!materialRepository.existsById(materialId)) {
+            remove(materialId);
+            return;
+        }
+        contentRepository.save(content);
+        if (!materialRepository.existsById(materialId)) {
+            remove(materialId);
+            return;
+        }
+
+        // New terms can change text search results; evicts the cached searches
+        // this material could appear in (only if it is approved)
+        if (MaterialContent.DONE.equals(content.getStatus())) {
+            eventPublisher.publishEvent(MaterialChangedEvent.of(material, material.isApproved()));
+        }
+    }
+}
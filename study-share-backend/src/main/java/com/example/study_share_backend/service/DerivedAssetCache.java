@@ -0,0 +1,123 @@
+package com.example.study_share_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+// Disk cache for files derived from stored blobs (thumbnails, previews). Keys are
+// content-addressed, so entries never go stale; the least recently used ones
+// are deleted once the total size passes the configured limit.
+@Component
+public class DerivedAssetCache {
+
+    private static final Logger log = LoggerFactory.getLogger(DerivedAssetCache.class);
+
+    private final Path dir;
+    private final long maxBytes;
+
+    // key -> size in bytes, in access order (eldest = least recently used)
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    // A lock rather than synchronized: request threads may be virtual, and
+    // eviction deletes files while holding it
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public DerivedAssetCache(
+            @Value("${preview.cache-dir:${storage.upload-dir:C:/studyshare/uploads}/derived}") String dir,
+            @Value("${preview.cache.max-bytes:536870912}") long maxBytes
+    ) {
+        this.dir = Paths.get(dir);
+        this.maxBytes = maxBytes;
+    }
+
+    // Rebuild the index from disk, oldest first, so eviction order survives restarts
+    @PostConstruct
+    public void load() throws IOException {
+        Files.createDirectories(dir);
+
+        try (Stream<Path> files = Files.list(dir)) {
+            files.filter(Files::isRegularFile)
+                    .filter(path -> !path.getFileName().toString().endsWith(".part"))
+                    .sorted(Comparator.comparingLong(DerivedAssetCache::lastModified))
+                    .forEach(path -> {
+                        long size = path.toFile().length();
+                        entries.put(path.getFileName().toString(), size);
+                        totalBytes += size;
+                    });
+        }
+        lock.lock();
+        try {
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Path of a cached asset, or null on a miss
+    public Path get(String key) {
+        lock.lock();
+        try {
+            if (entries.get(key) == null) {
+                return null;
+            }
+            return dir.resolve(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void put(String key, byte[] data) throws IOException {
+        Path part = Files.createTempFile(dir, "asset-", ".part");
+        try {
+            Files.write(part, data);
+            Files.move(part, dir.resolve(key),
+                    StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(part);
+        }
+
+        lock.lock();
+        try {
+            Long previous = entries.put(key, (long) data.length);
+            totalBytes += data.length - (previous == null ? 0 : previous);
+            evictIfNeeded();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Caller holds the lock
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Long>> eldest = entries.entrySet().iterator();
+
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Long> entry = eldest.next();
+            try {
+                Files.deleteIfExists(dir.resolve(entry.getKey()));
+            } catch (IOException e) {
+                log.warn("Failed to evict derived asset {}", entry.getKey(), e);
+            }
+            totalBytes -= entry.getValue();
+            eldest.remove();
+        }
+    }
+
+    private static long lastModified(Path path) {
+        return path.toFile().lastModified();
+    }
+}
@@ -4,18 +4,18 @@ package com.example.study_share_backend.service;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
 @Service
 public class EmailService {
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailOutbox mailOutbox;
 
     @Value("${spring.mail.from}")
     private String fromEmail;
 
+    // Queued for background delivery; does not wait for SMTP
     public void sendOtpEmail(String toEmail, String otp) {
         SimpleMailMessage message = new SimpleMailMessage();
         message.setFrom(fromEmail);
@@ -23,7 +23,7 @@ public class EmailService {
         message.setSubject("StudyHub Email Verification");
         message.setText("Your OTP is: " + otp + "\nValid for 5 minutes.");
 
-        mailSender.send(message);
+        mailOutbox.enqueue(message);
     }
 }
 
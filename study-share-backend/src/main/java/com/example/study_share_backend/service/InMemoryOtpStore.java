@@ -0,0 +1,87 @@
+package com.example.study_share_backend.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Single-node OTP store: one concurrent map of records, bounded in size, with a
+// periodic sweep plus lazy expiry on read so unverified OTPs never pile up.
+// An OTP is dropped after otp.max-attempts wrong guesses.
+@Service
+@ConditionalOnProperty(name = "otp.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryOtpStore implements OtpStore {
+
+    private record Entry(String otp, long expiresAt, int failures) {
+
+        boolean isExpired(long now) {
+            return now > expiresAt;
+        }
+    }
+
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    private final int maxEntries;
+    private final int maxAttempts;
+
+    public InMemoryOtpStore(
+            @Value("${otp.max-entries:10000}") int maxEntries,
+            @Value("${otp.max-attempts:5}") int maxAttempts
+    ) {
+        this.maxEntries = maxEntries;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public void save(String email, String otp, Instant expiresAt) {
+        if (entries.size() >= maxEntries && !entries.containsKey(email)) {
+            sweep();
+            if (entries.size() >= maxEntries) {
+                throw new ResponseStatusException(
+                        HttpStatus.SERVICE_UNAVAILABLE,
+                        "Too many pending verifications, try again later"
+                );
+            }
+        }
+        entries.put(email, new Entry(otp, expiresAt.toEpochMilli(), 0));
+    }
+
+    @Override
+    public boolean consume(String email, String otp) {
+        long now = System.currentTimeMillis();
+        boolean[] matched = {false};
+
+        // Runs atomically per key: returning null removes the entry
+        entries.computeIfPresent(email, (key, entry) -> {
+            if (entry.isExpired(now)) {
+                return null;
+            }
+            if (entry.otp().equals(otp)) {
+                matched[0] = true;
+                return null;
+            }
+            int failures = entry.failures() + 1;
+            return failures >= maxAttempts
+                    ? null
+                    : new Entry(entry.otp(), entry.expiresAt(), failures);
+        });
+        return matched[0];
+    }
+
+    @Override
+    public long size() {
+        return entries.size();
+    }
+
+    @Scheduled(fixedDelayString = "${otp.sweep-interval-ms:60000}")
+    public void sweep() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.isExpired(now));
+    }
+}
@@ -0,0 +1,205 @@
+package com.example.study_share_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Bounded outbox between request threads and SMTP. Dispatcher threads drain the
+// queue in batches; JavaMailSender sends a whole batch over one SMTP connection.
+// Failed messages are retried with exponential backoff.
+@Service
+public class MailOutbox {
+
+    private static final Logger log = LoggerFactory.getLogger(MailOutbox.class);
+
+    private record OutgoingMail(SimpleMailMessage message, int attempt) {
+    }
+
+    private final JavaMailSender mailSender;
+
+    private final BlockingQueue<OutgoingMail> queue;
+    private final int dispatcherThreads;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long initialBackoffMs;
+    private final boolean virtualThreads;
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong retried = new AtomicLong();
+
+    private ExecutorService dispatchers;
+    private ScheduledExecutorService retryScheduler;
+
+    public MailOutbox(
+            JavaMailSender mailSender,
+            @Value("${mail.outbox.capacity:1000}") int capacity,
+            @Value("${mail.outbox.dispatcher-threads:2}") int dispatcherThreads,
+            @Value("${mail.outbox.batch-size:20}") int batchSize,
+            @Value("${mail.outbox.max-attempts:4}") int maxAttempts,
+            @Value("${mail.outbox.initial-backoff-ms:1000}") long initialBackoffMs,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads
+    ) {
+        this.mailSender = mailSender;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.dispatcherThreads = dispatcherThreads;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoffMs = initialBackoffMs;
+        this.virtualThreads = virtualThreads;
+    }
+
+    @PostConstruct
+    public void start() {
+        // Dispatchers spend their time blocked on SMTP, so they do not need to
+        // hold a platform thread each in virtual-thread mode
+        ThreadFactory dispatcherFactory = virtualThreads
+                ? Thread.ofVirtual().name("mail-dispatcher-", 0).factory()
+                : Thread.ofPlatform().name("mail-dispatcher-", 0).daemon().factory();
+
+        dispatchers = Executors.newFixedThreadPool(dispatcherThreads, dispatcherFactory);
+        retryScheduler = Executors.newSingleThreadScheduledExecutor(
+                Thread.ofPlatform().name("mail-retry").daemon().factory()
+        );
+
+        for (int i = 0; i < dispatcherThreads; i++) {
+            dispatchers.submit(this::dispatchLoop);
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        retryScheduler.shutdownNow();
+        dispatchers.shutdownNow();
+    }
+
+    // Returns immediately; rejects with 503 instead of blocking when the outbox is full
+    public void enqueue(SimpleMailMessage message) {
+        if (!queue.offer(new OutgoingMail(message, 1))) {
+            throw new ResponseStatusException(
+                    HttpStatus.SERVICE_UNAVAILABLE,
+                    "Mail service is busy, try again later"
+            );
+        }
+    }
+
+    // ================= METRICS =================
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    public long sentCount() {
+        return sent.get();
+    }
+
+    public long failedCount() {
+        return failed.get();
+    }
+
+    public long retriedCount() {
+        return retried.get();
+    }
+
+    // ================= DISPATCH =================
+
+    private void dispatchLoop() {
+        List<OutgoingMail> batch = new ArrayList<>(batchSize);
+
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                batch.add(queue.take());
+                queue.drainTo(batch, batchSize - 1);
+                sendBatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                log.error("Mail dispatcher error", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void sendBatch(List<OutgoingMail> batch) {
+        SimpleMailMessage[] messages = batch.stream()
+                .map(OutgoingMail::message)
+                .toArray(SimpleMailMessage[]::new);
+
+        try {
+            mailSender.send(messages);
+            sent.addAndGet(batch.size());
+
+        } catch (MailSendException e) {
+            // Only the messages listed as failed need another attempt
+            var failedMessages = e.getFailedMessages();
+            for (OutgoingMail mail : batch) {
+                if (failedMessages.isEmpty() || failedMessages.containsKey(mail.message())) {
+                    retryLater(mail, e);
+                } else {
+                    sent.incrementAndGet();
+                }
+            }
+
+        } catch (MailException e) {
+            // Connection / authentication problem: the whole batch failed
+            batch.forEach(mail -> retryLater(mail, e));
+        }
+    }
+
+    private void retryLater(OutgoingMail mail, Exception cause) {
+        if (mail.attempt() >= maxAttempts) {
+            failed.incrementAndGet();
+            log.warn("Giving up on mail to {} after {} attempts",
+                    masked(mail.message().getTo()), mail.attempt(), cause);
+            return;
+        }
+
+        long delay = initialBackoffMs << (mail.attempt() - 1);
+        OutgoingMail next = new OutgoingMail(mail.message(), mail.attempt() + 1);
+        retried.incrementAndGet();
+
+        retryScheduler.schedule(() -> {
+            if (!queue.offer(next)) {
+                failed.incrementAndGet();
+                log.warn("Mail outbox full, dropping retry to {}",
+                        masked(next.message().getTo()));
+            }
+        }, delay, TimeUnit.MILLISECONDS);
+    }
+
+    // Recipients for logs: first letter and domain only ("s***@example.com"),
+    // enough to tell mails apart without writing addresses to the logs
+    private static String masked(String[] to) {
+        if (to == null) {
+            return "nobody";
+        }
+        StringJoiner joined = new StringJoiner(",");
+        for (String address : to) {
+            int at = address.indexOf('@');
+            joined.add(at > 0 ? address.charAt(0) + "***" + address.substring(at) : "***");
+        }
+        return joined.toString();
+    }
+}
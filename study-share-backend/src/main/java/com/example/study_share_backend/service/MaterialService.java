@@ -1,4 +1,151 @@
 package com.example.study_share_backend.service;
 
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.repository.MaterialRepository;
+import com.example.study_share_backend.storage.StorageService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+@Service
 public class MaterialService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final MaterialRepository materialRepository;
+    private final StorageService storageService;
+    private final BlobReferenceService blobReferences;
+    private final TransferMetrics transferMetrics;
+
+    private final Path tmpDir;
+
+    public MaterialService(
+            MaterialRepository materialRepository,
+            StorageService storageService,
+            BlobReferenceService blobReferences,
+            TransferMetrics transferMetrics,
+            @Value("${storage.tmp-dir:${storage.upload-dir:C:/studyshare/uploads}/tmp}") String tmpDir
+    ) {
+        this.materialRepository = materialRepository;
+        this.storageService = storageService;
+        this.blobReferences = blobReferences;
+        this.transferMetrics = transferMetrics;
+        this.tmpDir = Paths.get(tmpDir);
+    }
+
+    // ================= UPLOAD =================
+
+    // Streams the upload into a temp file while hashing it, then hands it to the
+    // storage backend under its content-addressed key. If that key already exists
+    // the temp file is dropped, so identical uploads share one stored blob.
+    // Counts one blob reference, which the caller hands to the saved material
+    // (or gives back with releaseBlob). Returns the SHA-256 (hex) of the content.
+    public String storeBlob(MultipartFile file) throws IOException {
+        Files.createDirectories(tmpDir);
+
+        Path tmpFile = Files.createTempFile(tmpDir, "upload-", ".part");
+        try {
+            long start = System.nanoTime();
+            MessageDigest digest = newSha256();
+
+            long bytes;
+            try (InputStream in = new DigestInputStream(file.getInputStream(), digest);
+                 OutputStream out = Files.newOutputStream(tmpFile)) {
+                bytes = in.transferTo(out);
+            }
+
+            String hash = HexFormat.of().formatHex(digest.digest());
+            String key = blobKey(hash);
+
+            // Referenced before the existence check in put, so the sweeper
+            // cannot delete the blob between that check and the material save
+            blobReferences.acquire(key);
+            try {
+                storageService.put(key, tmpFile);
+            } catch (IOException | RuntimeException e) {
+                blobReferences.release(key);
+                throw e;
+            }
+
+            transferMetrics.recordUpload(bytes, System.nanoTime() - start);
+            return hash;
+
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    public void releaseBlob(String key) {
+        blobReferences.release(key);
+    }
+
+    public String blobKey(String hash) {
+        return "blobs/" + hash.substring(0, 2) + "/" + hash;
+    }
+
+    // ================= READ =================
+
+    public Resource load(Material material) throws IOException {
+        return storageService.load(material.getFilePath());
+    }
+
+    // For a "Range" request starting at offset (see StorageService)
+    public Resource load(Material material, long offset) throws IOException {
+        return storageService.load(material.getFilePath(), offset);
+    }
+
+    // ================= DELETE =================
+
+    // Removes the document and drops its blob reference. The file (and its
+    // precompressed variants) is deleted by the sweeper once unreferenced.
+    public void deleteWithFile(Material material) {
+        materialRepository.delete(material);
+        blobReferences.release(material.getFilePath());
+    }
+
+    // ================= CONTENT HASH =================
+
+    // Content hash of the stored file. Older documents have none yet, so it is
+    // computed once (streaming, constant memory) and persisted for later requests.
+    public String contentHash(Material material) throws IOException {
+        if (material.getContentHash() == null) {
+            material.setContentHash(sha256(load(material)));
+            materialRepository.setContentHash(material.getId(), material.getContentHash());
+        }
+        return material.getContentHash();
+    }
+
+    private static String sha256(Resource resource) throws IOException {
+        MessageDigest digest = newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+
+        try (InputStream in = resource.getInputStream()) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest newSha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every JRE is required to ship SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.event.MaterialChangedEvent;
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.repository.MaterialContentRepository;
+import com.example.study_share_backend.repository.MaterialRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// Bulk approve / reject / delete: one read, one write per batch. Files are not
+// touched by the request; deletes only drop blob references.
+@Service
+public class ModerationService {
+
+    public static final String APPROVED = "approved";
+    public static final String ALREADY_APPROVED = "already_approved";
+    public static final String DELETED = "deleted";
+    public static final String NOT_PENDING = "not_pending";
+    public static final String NOT_FOUND = "not_found";
+
+    private final MaterialRepository materialRepository;
+    private final MaterialContentRepository contentRepository;
+    private final BlobReferenceService blobReferences;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ModerationService(
+            MaterialRepository materialRepository,
+            MaterialContentRepository contentRepository,
+            BlobReferenceService blobReferences,
+            ApplicationEventPublisher eventPublisher
+    ) {
+        this.materialRepository = materialRepository;
+        this.contentRepository = contentRepository;
+        this.blobReferences = blobReferences;
+        this.eventPublisher = eventPublisher;
+    }
+
+    // id -> result, in request order
+    public Map<String, String> approveAll(List<String> ids) {
+        Map<String, String> results = notFound(ids);
+
+        List<Material> pending = materialRepository.findForModeration(ids).stream()
+                .filter(material -> {
+                    if (material.isApproved()) {
+                        results.put(material.getId(), ALREADY_APPROVED);
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        if (pending.isEmpty()) {
+            return results;
+        }
+
+        materialRepository.approveAll(pending.stream().map(Material::getId).toList());
+
+        for (Material material : pending) {
+            results.put(material.getId(), APPROVED);
+            material.setApproved(true);
+            eventPublisher.publishEvent(MaterialChangedEvent.of(material, false));
+        }
+        return results;
+    }
+
+    // pendingOnly = "reject": approved materials are left alone. The filter is
+    // applied by the delete itself; the earlier read only supplies what the
+    // events and file cleanup need, and results reflect what was removed.
+    public Map<String, String> deleteAll(List<String> ids, boolean pendingOnly) {
+        Map<String, String> results = notFound(ids);
+
+        List<Material> candidates = materialRepository.findForModeration(ids).stream()
+                .filter(material -> {
+                    if (pendingOnly && material.isApproved()) {
+                        results.put(material.getId(), NOT_PENDING);
+                        return false;
+                    }
+                    return true;
+                })
+                .toList();
+
+        if (candidates.isEmpty()) {
+            return results;
+        }
+
+        List<String> candidateIds = candidates.stream().map(Material::getId).toList();
+        materialRepository.deleteForModeration(candidateIds, pendingOnly);
+
+        // Whatever is still there was approved in between
+        Set<String> remaining = materialRepository.findExistingIds(candidateIds);
+
+        List<Material> deleted = new ArrayList<>();
+        for (Material material : candidates) {
+            if (remaining.contains(material.getId())) {
+                results.put(material.getId(), NOT_PENDING);
+            } else {
+                results.put(material.getId(), DELETED);
+                deleted.add(material);
+            }
+        }
+
+        if (deleted.isEmpty()) {
+            return results;
+        }
+
+        contentRepository.deleteAllById(deleted.stream().map(Material::getId).toList());
+
+        for (Material material : deleted) {
+            eventPublisher.publishEvent(MaterialChangedEvent.of(material, material.isApproved()));
+        }
+
+        releaseFiles(deleted);
+        return results;
+    }
+
+    // Blobs are shared by identical uploads: drop one reference per deleted
+    // material in one bulk write and leave the files to the sweeper
+    private void releaseFiles(List<Material> deleted) {
+        Map<String, Long> references = deleted.stream()
+                .map(Material::getFilePath)
+                .filter(path -> path != null)
+                .collect(Collectors.groupingBy(path -> path, Collectors.counting()));
+
+        blobReferences.releaseAll(references);
+    }
+
+    private static Map<String, String> notFound(List<String> ids) {
+        Map<String, String> results = new LinkedHashMap<>();
+        ids.forEach(id -> results.put(id, NOT_FOUND));
+        return results;
+    }
+}
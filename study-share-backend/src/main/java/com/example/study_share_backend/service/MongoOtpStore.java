@@ -0,0 +1,63 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.model.OtpToken;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.util.Date;
+
+// Shared OTP store for multi-node deployments: survives restarts, and a TTL index
+// on expiresAt lets Mongo expire unverified OTPs by itself. Wrong guesses are
+// counted on the document, which is removed after otp.max-attempts of them.
+@Service
+@ConditionalOnProperty(name = "otp.store", havingValue = "mongo")
+public class MongoOtpStore implements OtpStore {
+
+    private final MongoTemplate mongoTemplate;
+    private final int maxAttempts;
+
+    public MongoOtpStore(
+            MongoTemplate mongoTemplate,
+            @Value("${otp.max-attempts:5}") int maxAttempts
+    ) {
+        this.mongoTemplate = mongoTemplate;
+        this.maxAttempts = maxAttempts;
+    }
+
+    @Override
+    public void save(String email, String otp, Instant expiresAt) {
+        mongoTemplate.save(new OtpToken(email, otp, Date.from(expiresAt), 0));
+    }
+
+    @Override
+    public boolean consume(String email, String otp) {
+        // The TTL monitor only runs about once a minute, so check expiry here too
+        Query query = new Query(Criteria.where("_id").is(email)
+                .and("otp").is(otp)
+                .and("expiresAt").gt(new Date()));
+
+        if (mongoTemplate.findAndRemove(query, OtpToken.class) != null) {
+            return true;
+        }
+
+        // Wrong (or expired) guess: count it, and drop the OTP once used up
+        Query byEmail = new Query(Criteria.where("_id").is(email));
+        mongoTemplate.updateFirst(byEmail, new Update().inc("failures", 1), OtpToken.class);
+        mongoTemplate.remove(
+                new Query(Criteria.where("_id").is(email).and("failures").gte(maxAttempts)),
+                OtpToken.class
+        );
+        return false;
+    }
+
+    @Override
+    public long size() {
+        return mongoTemplate.estimatedCount(OtpToken.class);
+    }
+}
@@ -1,37 +1,32 @@
 package com.example.study_share_backend.service;
 
 import org.springframework.stereotype.Service;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Random;
+
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+
 @Service
 public class OtpService {
 
-    private Map<String, String> otpStorage = new HashMap<>();
-    private Map<String, Long> otpExpiry = new HashMap<>();
+    private static final Duration OTP_TTL = Duration.ofMinutes(5);
+
+    // Thread-safe; one instance is shared by all requests
+    private static final SecureRandom RANDOM = new SecureRandom();
+
+    private final OtpStore otpStore;
+
+    public OtpService(OtpStore otpStore) {
+        this.otpStore = otpStore;
+    }
 
     public String generateOtp(String email) {
-        String otp = String.valueOf(100000 + new Random().nextInt(900000));
-        otpStorage.put(email, otp);
-        otpExpiry.put(email, System.currentTimeMillis() + 5 * 60 * 1000); // 5 min
+        String otp = String.valueOf(100000 + RANDOM.nextInt(900000));
+        otpStore.save(email, otp, Instant.now().plus(OTP_TTL));
         return otp;
     }
 
     public boolean verifyOtp(String email, String otp) {
-        if (!otpStorage.containsKey(email)) return false;
-
-        // Check expiry
-        if (System.currentTimeMillis() > otpExpiry.get(email)) {
-            otpStorage.remove(email);
-            otpExpiry.remove(email);
-            return false;
-        }
-
-        boolean valid = otpStorage.get(email).equals(otp);
-        if (valid) {
-            otpStorage.remove(email);
-            otpExpiry.remove(email);
-        }
-        return valid;
+        return otpStore.consume(email, otp);
     }
 }
@@ -0,0 +1,17 @@
+package com.example.study_share_backend.service;
+
+import java.time.Instant;
+
+// Backing store for pending email OTPs. Selected with "otp.store" (memory | mongo).
+public interface OtpStore {
+
+    // Replaces any pending OTP for this email
+    void save(String email, String otp, Instant expiresAt);
+
+    // Atomically removes the OTP and returns true if it matches and has not expired.
+    // A wrong guess counts against the OTP, which is removed after otp.max-attempts.
+    boolean consume(String email, String otp);
+
+    // Number of pending (possibly expired but not yet swept) entries
+    long size();
+}
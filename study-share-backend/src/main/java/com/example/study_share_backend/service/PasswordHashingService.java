@@ -0,0 +1,195 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.model.User;
+import com.example.study_share_backend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Runs password hashing (register, login) on a small dedicated pool so a login
+// storm cannot take every core away from downloads. A request whose hash has not
+// started within max-wait-ms, or that finds the queue full, gets 503 instead of
+// piling up. Hashes made with an older scheme or lower cost are re-hashed after
+// a successful login on a separate single low-priority thread, and only while
+// live hashes are not queueing, so upgrades never take capacity from logins.
+@Service
+public class PasswordHashingService {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordHashingService.class);
+
+    // Task states: the caller may only abandon a task that has not started yet
+    private static final int QUEUED = 0;
+    private static final int RUNNING = 1;
+    private static final int ABANDONED = 2;
+
+    private static final int UPGRADE_QUEUE_CAPACITY = 100;
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor workers;
+    private final ThreadPoolExecutor upgrader;
+    private final long maxWaitMs;
+
+    private final Timer hashTimer;
+    private final Counter rejected;
+    private final Counter timedOut;
+    private final Counter upgraded;
+
+    public PasswordHashingService(
+            PasswordEncoder passwordEncoder,
+            UserRepository userRepository,
+            MeterRegistry registry,
+            @Value("${password.hashing.threads:0}") int threads,
+            @Value("${password.hashing.queue-capacity:200}") int queueCapacity,
+            @Value("${password.hashing.max-wait-ms:2000}") long maxWaitMs
+    ) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.maxWaitMs = maxWaitMs;
+
+        // Default: half the cores, leaving the rest for serving files
+        int poolSize = threads > 0
+                ? threads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        this.workers = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("password-hasher-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.upgrader = new ThreadPoolExecutor(
+                1, 1,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(UPGRADE_QUEUE_CAPACITY),
+                Thread.ofPlatform().name("password-upgrader").daemon().priority(Thread.MIN_PRIORITY).factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.hashTimer = Timer.builder("password.hash")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.rejected = Counter.builder("password.hash.rejected")
+                .tag("reason", "queue-full")
+                .register(registry);
+        this.timedOut = Counter.builder("password.hash.rejected")
+                .tag("reason", "wait-timeout")
+                .register(registry);
+        this.upgraded = Counter.builder("password.hash.upgraded")
+                .register(registry);
+
+        Gauge.builder("password.hash.queue.depth", workers, pool -> pool.getQueue().size())
+                .register(registry);
+        Gauge.builder("password.hash.active", workers, ThreadPoolExecutor::getActiveCount)
+                .register(registry);
+        Gauge.builder("password.hash.upgrade.queue.depth", upgrader, pool -> pool.getQueue().size())
+                .register(registry);
+    }
+
+    @PreDestroy
+    public void stop() {
+        workers.shutdownNow();
+        upgrader.shutdownNow();
+    }
+
+    public String encode(String rawPassword) {
+        return run(() -> passwordEncoder.encode(rawPassword));
+    }
+
+    public boolean matches(String rawPassword, String encodedPassword) {
+        return run(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+    }
+
+    // After a successful match: re-hash with the current scheme and cost when the
+    // stored hash is outdated. Best effort, never delays the login response.
+    // Skipped while logins are queueing for the hashing pool.
+    public void upgradeIfNeeded(User user, String rawPassword) {
+        if (!workers.getQueue().isEmpty() || !passwordEncoder.upgradeEncoding(user.getPassword())) {
+            return;
+        }
+        try {
+            upgrader.execute(() -> {
+                try {
+                    String newHash = timed(() -> passwordEncoder.encode(rawPassword));
+                    // Only replaces the hash that was verified, never a concurrent change
+                    if (userRepository.updatePassword(user.getId(), user.getPassword(), newHash)) {
+                        upgraded.increment();
+                    }
+                } catch (Exception e) {
+                    log.warn("Password hash upgrade failed for user {}", user.getId(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Busy: upgrade on a later login
+        }
+    }
+
+    // ================= EXECUTION =================
+
+    private <T> T run(Callable<T> hash) {
+        AtomicInteger state = new AtomicInteger(QUEUED);
+
+        Future<T> future;
+        try {
+            future = workers.submit(() -> {
+                if (!state.compareAndSet(QUEUED, RUNNING)) {
+                    return null; // caller already answered 503
+                }
+                return timed(hash);
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw busy();
+        }
+
+        try {
+            try {
+                return future.get(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                if (state.compareAndSet(QUEUED, ABANDONED)) {
+                    timedOut.increment();
+                    throw busy();
+                }
+                // Already hashing; it finishes in one hash time
+                return future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw busy();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private <T> T timed(Callable<T> hash) throws Exception {
+        return hashTimer.recordCallable(hash);
+    }
+
+    private static ResponseStatusException busy() {
+        return new ResponseStatusException(
+                HttpStatus.SERVICE_UNAVAILABLE,
+                "Too many sign-ins right now, try again in a moment"
+        );
+    }
+}
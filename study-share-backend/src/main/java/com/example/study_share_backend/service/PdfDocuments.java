@@ -0,0 +1,25 @@
+package com.example.study_share_backend.service;
+
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.RandomAccessReadBuffer;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+final class PdfDocuments {
+
+    private PdfDocuments() {
+    }
+
+    // Local files are opened random-access; remote blobs are buffered first
+    static PDDocument open(Resource resource) throws IOException {
+        if (resource.isFile()) {
+            return Loader.loadPDF(resource.getFile());
+        }
+        try (InputStream in = resource.getInputStream()) {
+            return Loader.loadPDF(new RandomAccessReadBuffer(in));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.repository.MaterialRepository;
+import com.example.study_share_backend.storage.ContentEncodings;
+import com.example.study_share_backend.storage.StorageService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+
+// Compress-once for downloads: a gzip variant of compressible blobs is written
+// next to the blob after upload, and downloads that accept gzip are served
+// that stored variant instead of compressing on every request.
+@Service
+public class PrecompressionService {
+
+    private static final Logger log = LoggerFactory.getLogger(PrecompressionService.class);
+
+    public static final String GZIP = ContentEncodings.GZIP;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    // Text-like formats outside text/*; everything else (PDF, Office, images,
+    // archives) is already compressed and gains little
+    private static final Set<String> TEXT_MEDIA_SUBTYPES = Set.of(
+            "json", "xml", "javascript", "rtf", "x-tex", "x-latex", "svg+xml", "x-sh"
+    );
+
+    private final MaterialRepository materialRepository;
+    private final StorageService storageService;
+    private final Executor storageExecutor;
+    private final Path tmpDir;
+
+    // Keep the variant only if it is at most this fraction of the original
+    private final double maxRatio;
+
+    public PrecompressionService(
+            MaterialRepository materialRepository,
+            StorageService storageService,
+            @Qualifier("storageExecutor") Executor storageExecutor,
+            @Value("${storage.tmp-dir:${storage.upload-dir:C:/studyshare/uploads}/tmp}") String tmpDir,
+            @Value("${compression.precompress.max-ratio:0.9}") double maxRatio
+    ) {
+        this.materialRepository = materialRepository;
+        this.storageService = storageService;
+        this.storageExecutor = storageExecutor;
+        this.tmpDir = Paths.get(tmpDir);
+        this.maxRatio = maxRatio;
+    }
+
+    public boolean isCompressible(Material material) {
+        if (material.getFileName() == null) {
+            return false;
+        }
+
+        MediaType mediaType = MediaTypeFactory.getMediaType(material.getFileName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM);
+
+        return "text".equals(mediaType.getType())
+                || TEXT_MEDIA_SUBTYPES.contains(mediaType.getSubtype().toLowerCase(Locale.ROOT));
+    }
+
+    public static String variantKey(String key, String encoding) {
+        return ContentEncodings.variantKey(key, encoding);
+    }
+
+    // ================= UPLOAD =================
+
+    // Called after upload; compression runs on the storage executor
+    public void submit(Material material) {
+        if (material.getFilePath() == null || !isCompressible(material)) {
+            return;
+        }
+
+        try {
+            storageExecutor.execute(() -> {
+                try {
+                    precompress(material.getFilePath());
+                } catch (Exception e) {
+                    log.warn("Precompressing {} failed", material.getFilePath(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Downloads fall back to the identity encoding
+            log.debug("Storage executor busy, not precompressing {}", material.getFilePath());
+        }
+    }
+
+    private void precompress(String key) throws IOException {
+        String gzKey = variantKey(key, GZIP);
+
+        // Identical uploads share the blob, and so its variant
+        if (storageService.exists(gzKey)) {
+            materialRepository.addEncoding(key, GZIP);
+            return;
+        }
+
+        Resource source = storageService.load(key);
+        long originalSize = source.contentLength();
+
+        Files.createDirectories(tmpDir);
+        Path tmpFile = Files.createTempFile(tmpDir, "gzip-", ".part");
+        try {
+            try (InputStream in = source.getInputStream();
+                 OutputStream out = new BestGzipOutputStream(Files.newOutputStream(tmpFile))) {
+                in.transferTo(out);
+            }
+
+            if (Files.size(tmpFile) > originalSize * maxRatio) {
+                return;
+            }
+
+            storageService.put(gzKey, tmpFile);
+            materialRepository.addEncoding(key, GZIP);
+
+        } finally {
+            Files.deleteIfExists(tmpFile);
+        }
+    }
+
+    // ================= DOWNLOAD =================
+
+    // The stored encoding to serve for this Accept-Encoding header, or null for identity
+    public String negotiate(Material material, String acceptEncoding) {
+        return ContentEncodings.negotiate(material.getEncodings(), acceptEncoding);
+    }
+
+    public Resource load(Material material, String encoding, long offset) throws IOException {
+        return storageService.load(variantKey(material.getFilePath(), encoding), offset);
+    }
+
+    // ================= DELETE =================
+
+    // Variant keys to remove together with the blob
+    public static List<String> variantKeys(Material material) {
+        if (material.getEncodings() == null || material.getFilePath() == null) {
+            return List.of();
+        }
+        return material.getEncodings().stream()
+                .map(encoding -> variantKey(material.getFilePath(), encoding))
+                .toList();
+    }
+
+    // Compressed once, served many times: worth the slowest level
+    private static final class BestGzipOutputStream extends GZIPOutputStream {
+
+        BestGzipOutputStream(OutputStream out) throws IOException {
+            super(out, BUFFER_SIZE);
+            def.setLevel(Deflater.BEST_COMPRESSION);
+        }
+    }
+}
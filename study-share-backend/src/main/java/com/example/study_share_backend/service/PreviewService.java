@@ -0,0 +1,248 @@
+package com.example.study_share_backend.service;
+
+import com.example.study_share_backend.model.Material;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Renders a small thumbnail and a low-resolution preview (PNG) of a material's
+// first page in the background and keeps them in the DerivedAssetCache.
+// Content that fails to render is remembered by hash and not retried for
+// preview.failure-ttl-minutes. Output size is bounded whatever the page box or
+// image header claims, and images above preview.max-source-pixels are refused
+// before decoding.
+@Service
+public class PreviewService {
+
+    private static final Logger log = LoggerFactory.getLogger(PreviewService.class);
+
+    public enum Variant {
+        THUMB(240), PREVIEW(800);
+
+        final int width;
+
+        Variant(int width) {
+            this.width = width;
+        }
+    }
+
+    private static final Set<String> IMAGE_EXTENSIONS = Set.of(".png", ".jpg", ".jpeg", ".gif", ".bmp");
+
+    // Taller pages and images are scaled down to fit this height / width ratio
+    private static final int MAX_ASPECT = 4;
+    private static final float MAX_DPI = 600;
+
+    private final MaterialService materialService;
+    private final DerivedAssetCache assetCache;
+    private final ThreadPoolExecutor renderers;
+    private final long maxSourcePixels;
+
+    // Content hashes being rendered on this node
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+    // Content hashes whose rendering failed recently
+    private final Cache<String, Boolean> failed;
+
+    public PreviewService(
+            MaterialService materialService,
+            DerivedAssetCache assetCache,
+            @Value("${preview.workers:2}") int workerCount,
+            @Value("${preview.queue-capacity:200}") int queueCapacity,
+            @Value("${preview.max-source-pixels:40000000}") long maxSourcePixels,
+            @Value("${preview.failure-ttl-minutes:60}") long failureTtlMinutes
+    ) {
+        this.materialService = materialService;
+        this.assetCache = assetCache;
+        this.maxSourcePixels = maxSourcePixels;
+        this.failed = Caffeine.newBuilder()
+                .maximumSize(10_000)
+                .expireAfterWrite(Duration.ofMinutes(failureTtlMinutes))
+                .build();
+
+        // When the queue is full the work is dropped; it is retried on the next request
+        this.renderers = new ThreadPoolExecutor(
+                workerCount, workerCount,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                Thread.ofPlatform().name("preview-renderer-", 0).daemon().factory(),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    @PreDestroy
+    public void stop() {
+        renderers.shutdownNow();
+    }
+
+    public boolean supports(Material material) {
+        String name = material.getFileName() == null
+                ? ""
+                : material.getFileName().toLowerCase(Locale.ROOT);
+
+        return name.endsWith(".pdf") || IMAGE_EXTENSIONS.stream().anyMatch(name::endsWith);
+    }
+
+    // Cached asset, or null if it is not rendered (yet). A miss schedules
+    // rendering unless the same content failed recently.
+    public Path find(Material material, Variant variant) {
+        if (material.getContentHash() == null || !supports(material)) {
+            return null;
+        }
+
+        Path asset = assetCache.get(assetKey(material.getContentHash(), variant));
+        if (asset == null) {
+            submit(material);
+        }
+        return asset;
+    }
+
+    // Called after upload; returns immediately
+    public void submit(Material material) {
+        String hash = material.getContentHash();
+        if (hash == null || !supports(material) || failed.getIfPresent(hash) != null || !inFlight.add(hash)) {
+            return;
+        }
+
+        try {
+            renderers.execute(() -> {
+                try {
+                    render(material);
+                } catch (Exception e) {
+                    failed.put(hash, Boolean.TRUE);
+                    log.warn("Preview rendering failed for material {}", material.getId(), e);
+                } finally {
+                    inFlight.remove(hash);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(hash);
+        }
+    }
+
+    private void render(Material material) throws IOException {
+        BufferedImage preview = renderFirstPage(material, Variant.PREVIEW.width);
+
+        assetCache.put(assetKey(material.getContentHash(), Variant.PREVIEW), toPng(preview));
+        assetCache.put(assetKey(material.getContentHash(), Variant.THUMB),
+                toPng(scaleToFit(preview, Variant.THUMB.width)));
+    }
+
+    private BufferedImage renderFirstPage(Material material, int width) throws IOException {
+        Resource resource = materialService.load(material);
+
+        if (material.getFileName().toLowerCase(Locale.ROOT).endsWith(".pdf")) {
+            try (PDDocument document = PdfDocuments.open(resource)) {
+                PDRectangle page = document.getPage(0).getMediaBox();
+                if (page.getWidth() <= 0 || page.getHeight() <= 0) {
+                    throw new IOException("Empty page box");
+                }
+
+                // Fit width x (MAX_ASPECT * width); a tiny box must not blow up the DPI
+                float scale = Math.min(width / page.getWidth(), width * MAX_ASPECT / page.getHeight());
+                float dpi = Math.min(scale * 72f, MAX_DPI);
+
+                return new PDFRenderer(document).renderImageWithDPI(0, dpi, ImageType.RGB);
+            }
+        }
+
+        try (InputStream in = resource.getInputStream();
+             ImageInputStream stream = ImageIO.createImageInputStream(in)) {
+            return readImage(stream, width);
+        }
+    }
+
+    // Checks the dimensions from the header before decoding anything, then
+    // decodes subsampled to about the target width
+    private BufferedImage readImage(ImageInputStream stream, int width) throws IOException {
+        Iterator<ImageReader> readers = stream == null
+                ? Collections.emptyIterator()
+                : ImageIO.getImageReaders(stream);
+        if (!readers.hasNext()) {
+            throw new IOException("Unreadable image");
+        }
+
+        ImageReader reader = readers.next();
+        try {
+            reader.setInput(stream, true, true);
+
+            long sourceWidth = reader.getWidth(0);
+            long sourceHeight = reader.getHeight(0);
+            if (sourceWidth * sourceHeight > maxSourcePixels) {
+                throw new IOException("Image too large: " + sourceWidth + "x" + sourceHeight);
+            }
+
+            ImageReadParam param = reader.getDefaultReadParam();
+            int step = (int) Math.max(1, Math.max(sourceWidth / width, sourceHeight / (width * MAX_ASPECT)));
+            param.setSourceSubsampling(step, step, 0, 0);
+
+            return scaleToFit(reader.read(0, param), width);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    // Down to width, and to at most MAX_ASPECT * width high; never scales up
+    private static BufferedImage scaleToFit(BufferedImage source, int width) {
+        float scale = Math.min(1f, Math.min(
+                width / (float) source.getWidth(),
+                width * MAX_ASPECT / (float) source.getHeight()
+        ));
+        if (scale == 1f) {
+            return source;
+        }
+
+        int scaledWidth = Math.max(1, Math.round(source.getWidth() * scale));
+        int scaledHeight = Math.max(1, Math.round(source.getHeight() * scale));
+
+        BufferedImage scaled = new BufferedImage(scaledWidth, scaledHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = scaled.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.drawImage(source, 0, 0, scaledWidth, scaledHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return scaled;
+    }
+
+    private static byte[] toPng(BufferedImage image) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static String assetKey(String contentHash, Variant variant) {
+        return contentHash + "-" + variant.name().toLowerCase(Locale.ROOT) + ".png";
+    }
+}
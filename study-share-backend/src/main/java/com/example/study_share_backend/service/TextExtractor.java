@@ -0,0 +1,74 @@
+package com.example.study_share_backend.service;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.apache.poi.xwpf.extractor.XWPFWordExtractor;
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+// Pulls plain text out of PDF / DOCX files and splits it into search terms
+@Component
+public class TextExtractor {
+
+    public record Extracted(String text, Integer pageCount) {
+    }
+
+    public boolean supports(String fileName) {
+        String name = fileName == null ? "" : fileName.toLowerCase(Locale.ROOT);
+        return name.endsWith(".pdf") || name.endsWith(".docx");
+    }
+
+    public Extracted extract(String fileName, Resource resource) throws IOException {
+        String name = fileName.toLowerCase(Locale.ROOT);
+
+        if (name.endsWith(".pdf")) {
+            return extractPdf(resource);
+        }
+        if (name.endsWith(".docx")) {
+            return extractDocx(resource);
+        }
+        throw new IllegalArgumentException("Unsupported file type: " + fileName);
+    }
+
+    // Distinct lower-cased words (letters/digits, 2..40 chars), capped at maxTerms
+    public List<String> terms(String text, int maxTerms) {
+        Set<String> terms = new LinkedHashSet<>();
+
+        for (String word : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.length() >= 2 && word.length() <= 40) {
+                terms.add(word);
+                if (terms.size() >= maxTerms) {
+                    break;
+                }
+            }
+        }
+        return List.copyOf(terms);
+    }
+
+    private Extracted extractPdf(Resource resource) throws IOException {
+        try (PDDocument document = PdfDocuments.open(resource)) {
+            return new Extracted(
+                    new PDFTextStripper().getText(document),
+                    document.getNumberOfPages()
+            );
+        }
+    }
+
+    private Extracted extractDocx(Resource resource) throws IOException {
+        try (InputStream in = resource.getInputStream();
+             XWPFDocument document = new XWPFDocument(in);
+             XWPFWordExtractor extractor = new XWPFWordExtractor(document)) {
+
+            int pages = document.getProperties().getExtendedProperties().getPages();
+            return new Extracted(extractor.getText(), pages > 0 ? pages : null);
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.study_share_backend.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+// Bytes moved by file uploads and downloads. Throughput is the rate of
+// transfer.bytes; transfer.size and transfer.duration give the per-file shape.
+@Component
+public class TransferMetrics {
+
+    private final Direction upload;
+    private final Direction download;
+
+    private record Direction(Counter bytes, DistributionSummary size, Timer duration) {
+
+        void record(long byteCount, long nanos) {
+            bytes.increment(byteCount);
+            size.record(byteCount);
+            duration.record(nanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public TransferMetrics(MeterRegistry registry) {
+        this.upload = direction(registry, "upload");
+        this.download = direction(registry, "download");
+    }
+
+    // Upload body written to storage (hashing included)
+    public void recordUpload(long bytes, long nanos) {
+        upload.record(bytes, nanos);
+    }
+
+    // Response body sent for a download or admin view, full or partial
+    public void recordDownload(long bytes, long nanos) {
+        download.record(bytes, nanos);
+    }
+
+    private static Direction direction(MeterRegistry registry, String direction) {
+        return new Direction(
+                Counter.builder("transfer.bytes")
+                        .baseUnit("bytes")
+                        .tag("direction", direction)
+                        .register(registry),
+                DistributionSummary.builder("transfer.size")
+                        .baseUnit("bytes")
+                        .tag("direction", direction)
+                        .publishPercentileHistogram()
+                        .register(registry),
+                Timer.builder("transfer.duration")
+                        .tag("direction", direction)
+                        .publishPercentileHistogram()
+                        .register(registry)
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.study_share_backend.storage;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+import org.springframework.data.mongodb.gridfs.GridFsTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+// Stores blobs in MongoDB GridFS, keyed by filename, so every node sharing the
+// database also shares the material files.
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "gridfs")
+public class GridFsStorageService implements StorageService {
+
+    private final GridFsTemplate gridFsTemplate;
+
+    public GridFsStorageService(GridFsTemplate gridFsTemplate) {
+        this.gridFsTemplate = gridFsTemplate;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return gridFsTemplate.findOne(byKey(key)) != null;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        try {
+            if (exists(key)) {
+                return;
+            }
+            try (InputStream in = Files.newInputStream(source)) {
+                gridFsTemplate.store(in, key);
+            }
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Override
+    public Resource load(String key) {
+        GridFSFile file = gridFsTemplate.findOne(byKey(key));
+        return file == null
+                ? GridFsResource.absent(key)
+                : gridFsTemplate.getResource(file);
+    }
+
+    // No separate ranged read is needed: the driver's download stream seeks on
+    // skip(), dropping its cursor and querying from the chunk holding offset on,
+    // so chunks before a range start are never fetched
+    @Override
+    public Resource load(String key, long offset) {
+        return load(key);
+    }
+
+    @Override
+    public void delete(String key) {
+        gridFsTemplate.delete(byKey(key));
+    }
+
+    private static Query byKey(String key) {
+        return query(whereFilename().is(key));
+    }
+}
@@ -0,0 +1,307 @@
+package com.example.study_share_backend.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.stereotype.Service;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.ResponseInputStream;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// S3-compatible object store (AWS S3, MinIO, ...). Set storage.s3.endpoint to
+// point at a local MinIO; path-style addressing is on by default for that case.
+//
+// A download is one GetObject: metadata comes from its response, and a "Range"
+// request asks S3 for the bytes from the range start only.
+@Service
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3StorageService implements StorageService {
+
+    private final S3Client s3;
+    private final String bucket;
+
+    public S3StorageService(
+            @Value("${storage.s3.bucket}") String bucket,
+            @Value("${storage.s3.endpoint:}") String endpoint,
+            @Value("${storage.s3.region:us-east-1}") String region,
+            @Value("${storage.s3.access-key}") String accessKey,
+            @Value("${storage.s3.secret-key}") String secretKey,
+            @Value("${storage.s3.path-style:true}") boolean pathStyle
+    ) {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .forcePathStyle(pathStyle);
+
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        this.s3 = builder.build();
+        this.bucket = bucket;
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return head(key) != null;
+    }
+
+    @Override
+    public void put(String key, Path source) throws IOException {
+        try {
+            if (exists(key)) {
+                return;
+            }
+            s3.putObject(
+                    b -> b.bucket(bucket).key(key),
+                    RequestBody.fromFile(source)
+            );
+        } finally {
+            Files.deleteIfExists(source);
+        }
+    }
+
+    @Override
+    public Resource load(String key) {
+        return load(key, 0);
+    }
+
+    @Override
+    public Resource load(String key, long offset) {
+        return new S3Resource(key, offset);
+    }
+
+    @Override
+    public void delete(String key) {
+        s3.deleteObject(b -> b.bucket(bucket).key(key));
+    }
+
+    @PreDestroy
+    public void close() {
+        s3.close();
+    }
+
+    // null when the object does not exist
+    private HeadObjectResponse head(String key) {
+        try {
+            return s3.headObject(b -> b.bucket(bucket).key(key));
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return null;
+            }
+            throw e;
+        }
+    }
+
+    // The object from position on; the whole object for 0
+    private ResponseInputStream<GetObjectResponse> get(String key, long position) {
+        return s3.getObject(b -> {
+            b.bucket(bucket).key(key);
+            if (position > 0) {
+                b.range("bytes=" + position + "-");
+            }
+        });
+    }
+
+    // Size of the whole object, also for a ranged response ("bytes 100-199/1000")
+    private static long totalLength(GetObjectResponse response) {
+        String contentRange = response.contentRange();
+        if (contentRange != null && contentRange.contains("/")) {
+            return Long.parseLong(contentRange.substring(contentRange.lastIndexOf('/') + 1));
+        }
+        return response.contentLength();
+    }
+
+    // Opens its GetObject on first use, so exists(), contentLength() and
+    // lastModified() cost no extra request. The controller closes it after the
+    // response, which aborts a body nobody read (e.g. a 304).
+    private class S3Resource extends AbstractResource implements Closeable {
+
+        private final String key;
+        private final long offset;
+
+        private ResponseInputStream<GetObjectResponse> body;
+        private long bodyStart;
+        private boolean missing;
+        private boolean handedOut;
+        private PositionedStream stream;
+
+        S3Resource(String key, long offset) {
+            this.key = key;
+            this.offset = offset;
+        }
+
+        @Override
+        public boolean exists() {
+            return open() != null;
+        }
+
+        @Override
+        public long contentLength() throws IOException {
+            return totalLength(requireBody().response());
+        }
+
+        @Override
+        public long lastModified() throws IOException {
+            return requireBody().response().lastModified().toEpochMilli();
+        }
+
+        @Override
+        public synchronized InputStream getInputStream() throws IOException {
+            requireBody();
+
+            // A second reader gets its own request
+            if (handedOut) {
+                return new PositionedStream(key, get(key, 0), 0);
+            }
+            handedOut = true;
+            stream = new PositionedStream(key, body, bodyStart);
+            return stream;
+        }
+
+        @Override
+        public synchronized void close() {
+            if (stream != null) {
+                stream.close();
+            } else if (body != null) {
+                body.abort();
+            }
+        }
+
+        @Override
+        public String getDescription() {
+            return "S3 object [" + bucket + "/" + key + "]";
+        }
+
+        private synchronized ResponseInputStream<GetObjectResponse> open() {
+            if (body != null || missing) {
+                return body;
+            }
+            try {
+                body = get(key, offset);
+                bodyStart = offset;
+            } catch (S3Exception e) {
+                if (e.statusCode() == 404) {
+                    missing = true;
+                } else if (e.statusCode() == 416) {
+                    // Range starts past the end; the controller answers 416 from the length
+                    body = get(key, 0);
+                    bodyStart = 0;
+                } else {
+                    throw e;
+                }
+            }
+            return body;
+        }
+
+        private ResponseInputStream<GetObjectResponse> requireBody() throws FileNotFoundException {
+            ResponseInputStream<GetObjectResponse> opened = open();
+            if (opened == null) {
+                throw new FileNotFoundException(getDescription() + " does not exist");
+            }
+            return opened;
+        }
+    }
+
+    // The object as a stream from byte 0, backed by a GetObject that starts at
+    // start: skipping up to start is free. Reading anything before start (a
+    // reader that ignored the range) reopens the object at the current position.
+    private class PositionedStream extends InputStream {
+
+        private final String key;
+        private ResponseInputStream<GetObjectResponse> in;
+        private long start;
+        private long position;
+        private boolean eof;
+        private boolean closed;
+
+        PositionedStream(String key, ResponseInputStream<GetObjectResponse> in, long start) {
+            this.key = key;
+            this.in = in;
+            this.start = start;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            if (n <= 0) {
+                return 0;
+            }
+            if (position < start) {
+                long free = Math.min(n, start - position);
+                position += free;
+                return free + skip(n - free);
+            }
+            long skipped = in.skip(n);
+            position += skipped;
+            return skipped;
+        }
+
+        @Override
+        public int read() throws IOException {
+            seek();
+            int b = in.read();
+            if (b < 0) {
+                eof = true;
+            } else {
+                position++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int off, int len) throws IOException {
+            seek();
+            int n = in.read(buffer, off, len);
+            if (n < 0) {
+                eof = true;
+            } else {
+                position += n;
+            }
+            return n;
+        }
+
+        // Closing an unfinished body would drain it; abort drops the connection instead
+        @Override
+        public synchronized void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (eof) {
+                try {
+                    in.close();
+                } catch (IOException e) {
+                    in.abort();
+                }
+            } else {
+                in.abort();
+            }
+        }
+
+        private void seek() {
+            if (position < start) {
+                in.abort();
+                in = get(key, position);
+                start = position;
+            }
+        }
+    }
+}
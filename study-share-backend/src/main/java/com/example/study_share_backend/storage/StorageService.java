@@ -0,0 +1,31 @@
+package com.example.study_share_backend.storage;
+
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+// Where material files live. The active backend is picked with "storage.type"
+// (local | gridfs | s3); keys are the relative blob keys built by MaterialService.
+public interface StorageService {
+
+    boolean exists(String key) throws IOException;
+
+    // Stores the (already spooled) source file under key. The source may be moved
+    // or consumed; callers must not use it afterwards. Existing keys are kept as is.
+    void put(String key, Path source) throws IOException;
+
+    // Lazily streamed handle; nothing is read until getInputStream() is called.
+    // Returns a resource whose exists() is false when the key is missing.
+    Resource load(String key) throws IOException;
+
+    // load() for a reader that starts at offset, i.e. a "Range" request. The
+    // resource still describes the whole blob and its stream starts at byte 0,
+    // but stores that can read part of a blob fetch only from offset on, so
+    // skipping to offset costs nothing.
+    default Resource load(String key, long offset) throws IOException {
+        return load(key);
+    }
+
+    void delete(String key) throws IOException;
+}
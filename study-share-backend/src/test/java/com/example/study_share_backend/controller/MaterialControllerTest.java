@@ -0,0 +1,86 @@
+package com.example.study_share_backend.controller;
+
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.repository.MaterialRepository;
+import com.example.study_share_backend.service.BlobReferenceService;
+import com.example.study_share_backend.service.CatalogCache;
+import com.example.study_share_backend.service.ContentIndexService;
+import com.example.study_share_backend.service.MaterialService;
+import com.example.study_share_backend.service.ModerationService;
+import com.example.study_share_backend.service.PrecompressionService;
+import com.example.study_share_backend.service.PreviewService;
+import com.example.study_share_backend.service.TransferMetrics;
+import com.example.study_share_backend.storage.StorageService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.Optional;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+class MaterialControllerTest {
+
+    private static final String ID = "65f000000000000000000001";
+    private static final String FILE = "ab/abcdef.pdf";
+
+    private final MaterialRepository materialRepository = mock(MaterialRepository.class);
+    private final BlobReferenceService blobReferences = mock(BlobReferenceService.class);
+    private final ContentIndexService contentIndexService = mock(ContentIndexService.class);
+
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        MaterialService materialService = new MaterialService(
+                materialRepository,
+                mock(StorageService.class),
+                blobReferences,
+                mock(TransferMetrics.class),
+                "target/tmp"
+        );
+        MaterialController controller = new MaterialController(
+                materialRepository,
+                materialService,
+                contentIndexService,
+                mock(CatalogCache.class),
+                mock(ModerationService.class),
+                mock(PreviewService.class),
+                mock(PrecompressionService.class),
+                mock(ApplicationEventPublisher.class)
+        );
+        mvc = MockMvcBuilders.standaloneSetup(controller).build();
+    }
+
+    @Test
+    void adminDeleteReleasesTheBlobReference() throws Exception {
+        Material material = new Material();
+        material.setId(ID);
+        material.setFilePath(FILE);
+        when(materialRepository.findById(ID)).thenReturn(Optional.of(material));
+
+        mvc.perform(delete("/api/materials/admin/{id}", ID))
+                .andExpect(status().isOk());
+
+        verify(materialRepository).delete(material);
+        verify(blobReferences).release(FILE);
+        verify(contentIndexService).remove(ID);
+    }
+
+    @Test
+    void deletingAMissingMaterialReleasesNothing() throws Exception {
+        when(materialRepository.findById(ID)).thenReturn(Optional.empty());
+
+        mvc.perform(delete("/api/materials/admin/{id}", ID))
+                .andExpect(status().isNotFound());
+
+        verify(blobReferences, never()).release(FILE);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.study_share_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InMemoryRateLimitStoreTest {
+
+    private final InMemoryRateLimitStore store = new InMemoryRateLimitStore(1000);
+
+    // One token a minute: nothing refills while a test runs
+    private final RateLimit slow = new RateLimit("slow", 3, 1);
+
+    @Test
+    void admitsAFullBurstThenRejects() {
+        for (int i = 0; i < slow.capacity(); i++) {
+            assertThat(store.tryAcquire("student@example.com", slow)).isZero();
+        }
+
+        long wait = store.tryAcquire("student@example.com", slow);
+
+        // The next token is about one interval away
+        assertThat(wait).isPositive().isLessThanOrEqualTo(slow.intervalNanos());
+        assertThat(wait).isGreaterThan(slow.intervalNanos() - TimeUnit.SECONDS.toNanos(10));
+    }
+
+    @Test
+    void rejectedRequestsDoNotPushTheNextTokenBack() {
+        drain("key", slow);
+
+        long first = store.tryAcquire("key", slow);
+        for (int i = 0; i < 100; i++) {
+            store.tryAcquire("key", slow);
+        }
+        long later = store.tryAcquire("key", slow);
+
+        assertThat(later).isPositive().isLessThanOrEqualTo(first);
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        drain("a", slow);
+
+        assertThat(store.tryAcquire("a", slow)).isPositive();
+        assertThat(store.tryAcquire("b", slow)).isZero();
+    }
+
+    @Test
+    void rotatingKeysUnderOneLimitDoNotResetAnotherLimitsBuckets() {
+        InMemoryRateLimitStore small = new InMemoryRateLimitStore(10);
+        RateLimit other = new RateLimit("other", 1, 1);
+
+        for (int i = 0; i < slow.capacity(); i++) {
+            small.tryAcquire("victim", slow);
+        }
+        for (int i = 0; i < 1_000; i++) {
+            small.tryAcquire("rotated-" + i, other);
+        }
+
+        assertThat(small.tryAcquire("victim", slow)).isPositive();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() throws InterruptedException {
+        // One token per 10 ms, burst of one
+        RateLimit fast = new RateLimit("fast", 1, 6_000);
+
+        assertThat(store.tryAcquire("key", fast)).isZero();
+        assertThat(store.tryAcquire("key", fast))
+                .isPositive()
+                .isLessThanOrEqualTo(fast.intervalNanos());
+
+        Thread.sleep(30);
+
+        assertThat(store.tryAcquire("key", fast)).isZero();
+    }
+
+    @Test
+    void aLongIdleBucketHoldsNoMoreThanItsCapacity() throws InterruptedException {
+        RateLimit fast = new RateLimit("fast", 2, 6_000);
+
+        Thread.sleep(100);
+
+        assertThat(store.tryAcquire("key", fast)).isZero();
+        assertThat(store.tryAcquire("key", fast)).isZero();
+        assertThat(store.tryAcquire("key", fast)).isPositive();
+    }
+
+    private void drain(String key, RateLimit limit) {
+        for (int i = 0; i < limit.capacity(); i++) {
+            store.tryAcquire(key, limit);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.study_share_backend.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+class RateLimitTest {
+
+    @Test
+    void parsesCapacityAndRefill() {
+        RateLimit limit = RateLimit.parse("login-email", " 10 , 0.5 ");
+
+        assertThat(limit.name()).isEqualTo("login-email");
+        assertThat(limit.capacity()).isEqualTo(10);
+        assertThat(limit.refillPerMinute()).isEqualTo(0.5);
+    }
+
+    @Test
+    void intervalIsTheTimeOneTokenTakesToRefill() {
+        RateLimit limit = RateLimit.parse("otp-email", "3,0.5");
+
+        assertThat(limit.intervalNanos()).isEqualTo(TimeUnit.MINUTES.toNanos(2));
+        assertThat(limit.burstNanos()).isEqualTo(TimeUnit.MINUTES.toNanos(6));
+    }
+
+    @Test
+    void rejectsWrongNumberOfParts() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimit.parse("otp-ip", "30"))
+                .withMessageContaining("otp-ip");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimit.parse("otp-ip", "30,2,1"));
+    }
+
+    @Test
+    void rejectsNonNumbers() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimit.parse("upload-ip", "many,2"))
+                .withMessageContaining("upload-ip");
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> RateLimit.parse("upload-ip", "60,fast"));
+    }
+
+    @Test
+    void rejectsLimitsThatCanNeverRefillOrAdmit() {
+        assertThatIllegalArgumentException().isThrownBy(() -> RateLimit.parse("register-ip", "30,0"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RateLimit.parse("register-ip", "30,-1"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RateLimit.parse("register-ip", "30,NaN"));
+        assertThatIllegalArgumentException().isThrownBy(() -> RateLimit.parse("register-ip", "0,2"));
+    }
+}
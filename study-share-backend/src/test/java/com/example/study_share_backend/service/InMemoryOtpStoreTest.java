@@ -0,0 +1,107 @@
+package com.example.study_share_backend.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class InMemoryOtpStoreTest {
+
+    private static final String EMAIL = "student@example.com";
+
+    private final InMemoryOtpStore store = new InMemoryOtpStore(3, 3);
+
+    @Test
+    void matchingOtpIsConsumedOnce() {
+        store.save(EMAIL, "123456", inMinutes(5));
+
+        assertThat(store.consume(EMAIL, "123456")).isTrue();
+        assertThat(store.consume(EMAIL, "123456")).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void savingAgainReplacesThePendingOtp() {
+        store.save(EMAIL, "111111", inMinutes(5));
+        store.save(EMAIL, "222222", inMinutes(5));
+
+        assertThat(store.consume(EMAIL, "111111")).isFalse();
+        assertThat(store.consume(EMAIL, "222222")).isTrue();
+    }
+
+    @Test
+    void expiredOtpIsRejectedAndRemoved() {
+        store.save(EMAIL, "123456", Instant.now().minusSeconds(1));
+
+        assertThat(store.consume(EMAIL, "123456")).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void sweepRemovesOnlyExpiredEntries() {
+        store.save("old@example.com", "111111", Instant.now().minusSeconds(1));
+        store.save(EMAIL, "123456", inMinutes(5));
+
+        store.sweep();
+
+        assertThat(store.size()).isEqualTo(1);
+        assertThat(store.consume(EMAIL, "123456")).isTrue();
+    }
+
+    @Test
+    void wrongGuessesBelowTheCapLeaveTheOtpUsable() {
+        store.save(EMAIL, "123456", inMinutes(5));
+
+        assertThat(store.consume(EMAIL, "000000")).isFalse();
+        assertThat(store.consume(EMAIL, "000001")).isFalse();
+
+        assertThat(store.consume(EMAIL, "123456")).isTrue();
+    }
+
+    @Test
+    void otpIsDroppedAfterMaxAttemptsWrongGuesses() {
+        store.save(EMAIL, "123456", inMinutes(5));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(store.consume(EMAIL, "00000" + i)).isFalse();
+        }
+
+        assertThat(store.consume(EMAIL, "123456")).isFalse();
+        assertThat(store.size()).isZero();
+    }
+
+    @Test
+    void fullStoreRejectsNewEmailsWith503() {
+        store.save("a@example.com", "111111", inMinutes(5));
+        store.save("b@example.com", "222222", inMinutes(5));
+        store.save("c@example.com", "333333", inMinutes(5));
+
+        assertThatThrownBy(() -> store.save(EMAIL, "123456", inMinutes(5)))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+
+        // A pending email can still ask for a new code
+        store.save("a@example.com", "444444", inMinutes(5));
+        assertThat(store.consume("a@example.com", "444444")).isTrue();
+    }
+
+    @Test
+    void fullStoreMakesRoomByDroppingExpiredEntries() {
+        store.save("a@example.com", "111111", Instant.now().minusSeconds(1));
+        store.save("b@example.com", "222222", inMinutes(5));
+        store.save("c@example.com", "333333", inMinutes(5));
+
+        store.save(EMAIL, "123456", inMinutes(5));
+
+        assertThat(store.size()).isEqualTo(3);
+        assertThat(store.consume(EMAIL, "123456")).isTrue();
+    }
+
+    private static Instant inMinutes(long minutes) {
+        return Instant.now().plusSeconds(minutes * 60);
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.study_share_backend.service;
+
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+// MailOutbox against a real SMTP conversation (GreenMail). Backoff is shortened
+// to milliseconds; the doubling per attempt is the same as in production.
+class MailOutboxTest {
+
+    private GreenMail greenMail;
+    private MailOutbox outbox;
+
+    @AfterEach
+    void tearDown() {
+        if (outbox != null) {
+            outbox.stop();
+        }
+        if (greenMail != null) {
+            greenMail.stop();
+        }
+    }
+
+    @Test
+    void deliversQueuedMessages() throws Exception {
+        greenMail = new GreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+        outbox = startOutbox(greenMail.getSmtp().getPort(), 4, 50);
+
+        for (int i = 0; i < 5; i++) {
+            outbox.enqueue(message("student" + i + "@example.com"));
+        }
+
+        assertThat(greenMail.waitForIncomingEmail(5_000, 5)).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> outbox.sentCount() == 5);
+
+        MimeMessage[] received = greenMail.getReceivedMessages();
+        assertThat(received).hasSize(5);
+        assertThat(received[0].getSubject()).isEqualTo("StudyHub Email Verification");
+        assertThat(outbox.retriedCount()).isZero();
+        assertThat(outbox.failedCount()).isZero();
+    }
+
+    @Test
+    void retriesUntilTheServerComesUp() throws Exception {
+        int port = freePort();
+        outbox = startOutbox(port, 6, 200);
+
+        outbox.enqueue(message("student@example.com"));
+        await().atMost(Duration.ofSeconds(5)).until(() -> outbox.retriedCount() >= 1);
+
+        greenMail = new GreenMail(new ServerSetup(port, null, ServerSetup.PROTOCOL_SMTP));
+        greenMail.start();
+
+        assertThat(greenMail.waitForIncomingEmail(15_000, 1)).isTrue();
+        await().atMost(Duration.ofSeconds(5)).until(() -> outbox.sentCount() == 1);
+        assertThat(outbox.failedCount()).isZero();
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsWithDoublingBackoff() throws Exception {
+        int port = freePort();
+        outbox = startOutbox(port, 3, 200);
+
+        long started = System.nanoTime();
+        outbox.enqueue(message("student@example.com"));
+
+        await().atMost(Duration.ofSeconds(10)).until(() -> outbox.failedCount() == 1);
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - started).toMillis();
+
+        // Attempts at about 0, 200 and 200 + 400 ms
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(600);
+        assertThat(outbox.retriedCount()).isEqualTo(2);
+        assertThat(outbox.sentCount()).isZero();
+    }
+
+    @Test
+    void fullOutboxRejectsWith503InsteadOfBlocking() {
+        // Not started: nothing drains the queue
+        MailOutbox unstarted = new MailOutbox(new JavaMailSenderImpl(), 2, 1, 20, 4, 1_000, false);
+
+        unstarted.enqueue(message("a@example.com"));
+        unstarted.enqueue(message("b@example.com"));
+
+        assertThatThrownBy(() -> unstarted.enqueue(message("c@example.com")))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e ->
+                        assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        assertThat(unstarted.queueDepth()).isEqualTo(2);
+    }
+
+    private static MailOutbox startOutbox(int port, int maxAttempts, long initialBackoffMs) {
+        MailOutbox outbox = new MailOutbox(sender(port), 100, 1, 20, maxAttempts, initialBackoffMs, false);
+        outbox.start();
+        return outbox;
+    }
+
+    private static JavaMailSenderImpl sender(int port) {
+        JavaMailSenderImpl sender = new JavaMailSenderImpl();
+        sender.setHost("localhost");
+        sender.setPort(port);
+        sender.getJavaMailProperties().put("mail.smtp.connectiontimeout", "1000");
+        sender.getJavaMailProperties().put("mail.smtp.timeout", "1000");
+        return sender;
+    }
+
+    private static SimpleMailMessage message(String to) {
+        SimpleMailMessage message = new SimpleMailMessage();
+        message.setFrom("noreply@example.com");
+        message.setTo(to);
+        message.setSubject("StudyHub Email Verification");
+        message.setText("Your OTP is: 123456");
+        return message;
+    }
+
+    // Nothing listens here until the test starts GreenMail on it
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
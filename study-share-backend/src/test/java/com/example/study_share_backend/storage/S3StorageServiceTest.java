@@ -0,0 +1,233 @@
+package com.example.study_share_backend.storage;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.Resource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// S3StorageService against a minimal in-process S3 stub (HEAD, ranged GET,
+// DELETE on path-style URLs) that records every request it receives.
+class S3StorageServiceTest {
+
+    private static final String BUCKET = "materials";
+    private static final String KEY = "blobs/ab/ab12";
+    private static final byte[] CONTENT = "0123456789abcdefghijklmnopqrstuvwxyz".getBytes(StandardCharsets.US_ASCII);
+    private static final Instant MODIFIED = Instant.parse("2026-01-15T10:00:00Z");
+
+    private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+
+    private HttpServer server;
+    private S3StorageService storage;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.start();
+
+        storage = new S3StorageService(
+                BUCKET,
+                "http://localhost:" + server.getAddress().getPort(),
+                "us-east-1",
+                "test-access-key",
+                "test-secret-key",
+                true
+        );
+        objects.put(KEY, CONTENT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        storage.close();
+        server.stop(0);
+    }
+
+    @Test
+    void downloadIsOneGetWithoutHead() throws IOException {
+        Resource resource = storage.load(KEY);
+
+        assertThat(resource.exists()).isTrue();
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+        assertThat(resource.lastModified()).isEqualTo(MODIFIED.toEpochMilli());
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+
+        assertThat(requests).containsExactly("GET " + KEY + " range=none");
+    }
+
+    @Test
+    void rangeRequestFetchesOnlyFromTheOffset() throws IOException {
+        Resource resource = storage.load(KEY, 10);
+
+        // Metadata still describes the whole object
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.skip(10)).isEqualTo(10);
+            assertThat(in.readNBytes(5)).isEqualTo("abcde".getBytes(StandardCharsets.US_ASCII));
+        }
+
+        assertThat(requests).containsExactly("GET " + KEY + " range=bytes=10-");
+    }
+
+    @Test
+    void readerThatIgnoresTheRangeGetsTheWholeObject() throws IOException {
+        Resource resource = storage.load(KEY, 10);
+
+        try (InputStream in = resource.getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+
+        assertThat(requests).containsExactly(
+                "GET " + KEY + " range=bytes=10-",
+                "GET " + KEY + " range=none"
+        );
+    }
+
+    @Test
+    void offsetPastTheEndFallsBackToTheWholeObject() throws IOException {
+        Resource resource = storage.load(KEY, CONTENT.length + 5);
+
+        assertThat(resource.contentLength()).isEqualTo(CONTENT.length);
+        assertThat(requests).containsExactly(
+                "GET " + KEY + " range=bytes=" + (CONTENT.length + 5) + "-",
+                "GET " + KEY + " range=none"
+        );
+        ((Closeable) resource).close();
+    }
+
+    @Test
+    void missingObjectDoesNotExist() {
+        Resource resource = storage.load("blobs/ff/missing");
+
+        assertThat(resource.exists()).isFalse();
+        assertThatThrownBy(resource::contentLength).isInstanceOf(IOException.class);
+    }
+
+    @Test
+    void unreadBodyCanBeReleased() throws IOException {
+        Resource resource = storage.load(KEY);
+        resource.lastModified();
+
+        // What the controller does after a 304
+        ((Closeable) resource).close();
+
+        // The client still works for the next download
+        try (InputStream in = storage.load(KEY).getInputStream()) {
+            assertThat(in.readAllBytes()).isEqualTo(CONTENT);
+        }
+    }
+
+    @Test
+    void existsAndDeleteUseHeadAndDelete() {
+        assertThat(storage.exists(KEY)).isTrue();
+
+        storage.delete(KEY);
+
+        assertThat(storage.exists(KEY)).isFalse();
+        assertThat(requests).containsExactly(
+                "HEAD " + KEY + " range=none",
+                "DELETE " + KEY + " range=none",
+                "HEAD " + KEY + " range=none"
+        );
+    }
+
+    // ================= STUB =================
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            exchange.getRequestBody().readAllBytes();
+
+            String path = exchange.getRequestURI().getPath();
+            String key = path.substring(("/" + BUCKET + "/").length());
+            String range = exchange.getRequestHeaders().getFirst("Range");
+            String method = exchange.getRequestMethod();
+            requests.add(method + " " + key + " range=" + (range != null ? range : "none"));
+
+            byte[] object = objects.get(key);
+
+            switch (method) {
+                case "DELETE" -> {
+                    objects.remove(key);
+                    exchange.sendResponseHeaders(204, -1);
+                }
+                case "HEAD" -> {
+                    if (object == null) {
+                        exchange.sendResponseHeaders(404, -1);
+                        return;
+                    }
+                    headers(exchange, object.length);
+                    exchange.sendResponseHeaders(200, -1);
+                }
+                case "GET" -> get(exchange, key, object, range);
+                default -> exchange.sendResponseHeaders(405, -1);
+            }
+        }
+    }
+
+    private void get(HttpExchange exchange, String key, byte[] object, String range) throws IOException {
+        if (object == null) {
+            error(exchange, 404, "NoSuchKey", key);
+            return;
+        }
+
+        int start = 0;
+        if (range != null) {
+            start = Integer.parseInt(range.substring("bytes=".length(), range.indexOf('-')));
+            if (start >= object.length) {
+                error(exchange, 416, "InvalidRange", key);
+                return;
+            }
+            exchange.getResponseHeaders().set("Content-Range",
+                    "bytes " + start + "-" + (object.length - 1) + "/" + object.length);
+        }
+
+        int length = object.length - start;
+        headers(exchange, length);
+        exchange.sendResponseHeaders(range != null ? 206 : 200, length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(object, start, length);
+        }
+    }
+
+    private static void headers(HttpExchange exchange, long length) {
+        exchange.getResponseHeaders().set("Content-Type", "application/octet-stream");
+        exchange.getResponseHeaders().set("Content-Length", String.valueOf(length));
+        exchange.getResponseHeaders().set("ETag", "\"stub\"");
+        exchange.getResponseHeaders().set("Last-Modified",
+                DateTimeFormatter.RFC_1123_DATE_TIME.format(MODIFIED.atOffset(ZoneOffset.UTC)));
+    }
+
+    private static void error(HttpExchange exchange, int status, String code, String key) throws IOException {
+        byte[] body = ("<?xml version=\"1.0\" encoding=\"UTF-8\"?><Error><Code>" + code
+                + "</Code><Message>" + code + "</Message><Key>" + key + "</Key></Error>")
+                .getBytes(StandardCharsets.UTF_8);
+
+        exchange.getResponseHeaders().set("Content-Type", "application/xml");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
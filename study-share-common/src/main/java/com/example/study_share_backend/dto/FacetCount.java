@@ -0,0 +1,14 @@
+package com.example.study_share_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FacetCount {
+
+    private Object value;   // semester (Integer) or subject / materialType (String)
+    private long count;
+}
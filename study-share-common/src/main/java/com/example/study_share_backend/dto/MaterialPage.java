@@ -0,0 +1,18 @@
+package com.example.study_share_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialPage {
+
+    private List<MaterialSummary> items;
+
+    // id of the last item; pass back as "cursor" to fetch the next page (null = no more)
+    private String nextCursor;
+}
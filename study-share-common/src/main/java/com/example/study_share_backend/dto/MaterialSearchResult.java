@@ -0,0 +1,23 @@
+package com.example.study_share_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialSearchResult {
+
+    // Requested page, best match first
+    private List<MaterialSummary> items;
+
+    // Total number of matches (all pages)
+    private long total;
+
+    // "semester" / "subject" / "materialType" -> counts over all matches
+    private Map<String, List<FacetCount>> facets;
+}
@@ -0,0 +1,18 @@
+package com.example.study_share_backend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Slim projection of Material for student listings (no filePath / internal fields)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class MaterialSummary {
+
+    private String id;
+    private String materialType;
+    private Integer semester;
+    private String subject;
+    private String fileName;
+}
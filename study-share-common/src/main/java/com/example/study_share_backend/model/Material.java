@@ -0,0 +1,75 @@
+package com.example.study_share_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.CreatedBy;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Document(collection = "materials")
+@CompoundIndexes({
+        // Keyset listing: approved + optional filter, newest first by _id
+        @CompoundIndex(name = "approved_id", def = "{'approved': 1, '_id': -1}"),
+        @CompoundIndex(name = "approved_semester_id", def = "{'approved': 1, 'semester': 1, '_id': -1}"),
+        @CompoundIndex(name = "approved_subject_id", def = "{'approved': 1, 'subject': 1, '_id': -1}"),
+        @CompoundIndex(name = "approved_type_id", def = "{'approved': 1, 'materialType': 1, '_id': -1}"),
+        // Pending queue / latest approved: filter + sort straight off the index
+        @CompoundIndex(name = "approved_createdAt", def = "{'approved': 1, 'createdAt': -1}")
+})
+public class Material {
+
+    @Id
+    private String id;
+
+    // Text index (one per collection) behind /api/materials/search
+    @TextIndexed
+    private String materialType;
+    private Integer semester;
+    @TextIndexed(weight = 3)
+    private String subject;
+
+    @TextIndexed(weight = 2)
+    private String fileName;
+
+    // Storage key of the file ("blobs/<aa>/<sha256>"; absolute path for older
+    // local uploads). Identical uploads share the same key.
+    @Indexed
+    private String filePath;
+
+    // SHA-256 (hex) of the stored file; used as the strong ETag for downloads
+    private String contentHash;
+
+    // Precompressed variants stored next to the file (e.g. "gzip")
+    private List<String> encodings;
+
+    // Optimistic-locking version; bumped by every update
+    @Version
+    private Long version;
+
+    // ✅ NEW FIELDS
+    private boolean approved=false;     // admin approval status
+    @CreatedBy
+    private String uploadedBy;    // optional (userId / email)
+
+    // Filled by Spring Data auditing on insert; backfilled from _id for older docs
+    @CreatedDate
+    private Date createdAt;
+
+    // Set by the approve updates
+    private Date approvedAt;
+}
@@ -0,0 +1,51 @@
+package com.example.study_share_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+import java.util.List;
+
+// Text extracted from a material's file, filled in by ContentIndexService
+@Document(collection = "material_contents")
+@Data
+@NoArgsConstructor
+public class MaterialContent {
+
+    public static final String PENDING = "PENDING";
+    public static final String PROCESSING = "PROCESSING";
+    public static final String DONE = "DONE";
+    public static final String FAILED = "FAILED";
+    public static final String UNSUPPORTED = "UNSUPPORTED";
+
+    // Same id as the Material
+    @Id
+    private String id;
+
+    @Indexed
+    private String status = PENDING;
+
+    private Integer pageCount;
+
+    // Distinct, lower-cased words of the document (text indexed for search)
+    @TextIndexed
+    private List<String> terms;
+
+    private String error;
+
+    private Date queuedAt;
+    private Date indexedAt;
+
+    // Lease: a PROCESSING entry older than content.index.lease-ms is taken to
+    // belong to a node that died mid-extraction and is queued again
+    private Date processingStartedAt;
+
+    public MaterialContent(String id) {
+        this.id = id;
+        this.queuedAt = new Date();
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.study_share_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+@Document(collection = "otp_tokens")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OtpToken {
+
+    // One pending OTP per email
+    @Id
+    private String email;
+
+    private String otp;
+
+    // TTL index: Mongo removes the document once this time has passed
+    @Indexed(expireAfter = "0s")
+    private Date expiresAt;
+
+    // Wrong guesses so far
+    private int failures;
+}
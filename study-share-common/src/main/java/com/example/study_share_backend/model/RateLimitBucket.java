@@ -0,0 +1,32 @@
+package com.example.study_share_backend.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+// Shared token bucket for one rate-limit key (rate-limit.store=mongo)
+@Document(collection = "rate_limits")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RateLimitBucket {
+
+    // Limit name + key, e.g. "login-email:alice@uni.edu"
+    @Id
+    private String key;
+
+    // GCRA theoretical arrival time, epoch millis
+    private long tat;
+
+    // Result of the last acquire
+    private boolean allowed;
+
+    // TTL index: once tat has passed the bucket is full again, so Mongo drops it
+    @Indexed(expireAfter = "0s")
+    private Date expiresAt;
+}
@@ -0,0 +1,33 @@
+package com.example.study_share_backend.model;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Date;
+
+// Reference count for one stored blob, maintained by BlobReferenceService.
+// Files are only ever deleted by the sweeper, never by the request that
+// dropped the last reference.
+@Document(collection = "stored_blobs")
+@Data
+@NoArgsConstructor
+public class StoredBlob {
+
+    // Storage key, e.g. "blobs/ab/ab12..."
+    @Id
+    private String key;
+
+    // Materials pointing at this key
+    private long refs;
+
+    // When refs last dropped to 0; null while referenced
+    @Indexed(sparse = true)
+    private Date releasedAt;
+
+    // Set while the sweeper deletes the file; uploads of the same content wait
+    private boolean deleting;
+    private Date deletingSince;
+}
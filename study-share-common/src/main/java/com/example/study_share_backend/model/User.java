@@ -0,0 +1,39 @@
+package com.example.study_share_backend.model;
+
+import lombok.*;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.util.Locale;
+
+@Document(collection = "users")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class User {
+
+    @Id
+    private String id;
+
+    // Prefix search and sorting in the admin user list
+    @Indexed
+    private String name;
+
+    // Stored trimmed and lower-cased (see normalizeEmail), so the unique index
+    // also rejects case variants of an existing address
+    @Indexed(name = "email_unique", unique = true)
+    private String email;
+
+    private String password;
+
+    // ✅ Role: "ADMIN" or "USER"
+    private String role = "USER"; // default role is USER
+
+    // Bumped on role changes; tokens carrying an older value are rejected
+    private int tokenVersion = 0;
+
+    public static String normalizeEmail(String email) {
+        return email == null ? null : email.trim().toLowerCase(Locale.ROOT);
+    }
+}
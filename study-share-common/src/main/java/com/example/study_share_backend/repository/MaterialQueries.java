@@ -0,0 +1,161 @@
+package com.example.study_share_backend.repository;
+
+import com.example.study_share_backend.dto.FacetCount;
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.dto.MaterialSummary;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Catalog query shapes shared by the blocking repository and the reactive
+// module (study-share-reactive), so both hit the same indexes the same way.
+public final class MaterialQueries {
+
+    private static final List<String> FACET_FIELDS = List.of("semester", "subject", "materialType");
+
+    // Upper bound on content-index hits merged into one search
+    private static final int MAX_CONTENT_MATCHES = 1000;
+
+    private MaterialQueries() {
+    }
+
+    // Keyset page of approved materials, newest first, summary fields only
+    public static Query approvedPage(
+            Integer semester,
+            String subject,
+            String materialType,
+            String cursor,
+            int limit
+    ) {
+        Criteria criteria = approvedWithFilters(semester, subject, materialType);
+
+        // ObjectIds grow with insert time, so "_id < cursor" is the next page
+        if (cursor != null && !cursor.isEmpty()) {
+            criteria.and("_id").lt(new ObjectId(cursor));
+        }
+
+        Query query = new Query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, "_id"))
+                .limit(limit);
+
+        query.fields()
+                .include("materialType")
+                .include("semester")
+                .include("subject")
+                .include("fileName");
+
+        return query;
+    }
+
+    // Ids of materials whose extracted content matches, best first
+    public static Query contentMatches(String text) {
+        Query query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(text))
+                .sortByScore()
+                .limit(MAX_CONTENT_MATCHES);
+        query.fields().include("_id");
+
+        return query;
+    }
+
+    // Single aggregation: matching page, total and per-field facet counts
+    public static List<AggregationOperation> search(
+            String text,
+            List<ObjectId> contentMatches,
+            Integer semester,
+            String subject,
+            String materialType,
+            int page,
+            int limit
+    ) {
+        boolean hasText = text != null && !text.isBlank();
+
+        List<AggregationOperation> pipeline = new ArrayList<>();
+
+        // $text must be part of the first $match stage. Materials whose extracted
+        // file content matches are OR-ed in by id (allowed since _id is indexed).
+        if (hasText) {
+            if (contentMatches.isEmpty()) {
+                pipeline.add(Aggregation.match(TextCriteria.forDefaultLanguage().matching(text)));
+            } else {
+                Document match = new Document("$or", List.of(
+                        new Document("$text", new Document("$search", text)),
+                        new Document("_id", new Document("$in", contentMatches))
+                ));
+                pipeline.add(context -> new Document("$match", match));
+            }
+        }
+        pipeline.add(Aggregation.match(approvedWithFilters(semester, subject, materialType)));
+
+        Document sort = hasText
+                ? new Document("score", new Document("$meta", "textScore")).append("_id", -1)
+                : new Document("_id", -1);
+
+        Document facet = new Document()
+                .append("items", List.of(
+                        new Document("$sort", sort),
+                        new Document("$skip", (long) page * limit),
+                        new Document("$limit", limit),
+                        new Document("$project", new Document("materialType", 1)
+                                .append("semester", 1)
+                                .append("subject", 1)
+                                .append("fileName", 1))
+                ))
+                .append("total", List.of(new Document("$count", "count")));
+
+        for (String field : FACET_FIELDS) {
+            facet.append(field, List.of(new Document("$sortByCount", "$" + field)));
+        }
+
+        pipeline.add(context -> new Document("$facet", facet));
+
+        return pipeline;
+    }
+
+    public static MaterialSearchResult toSearchResult(Document result, MongoConverter converter) {
+        List<MaterialSummary> items = new ArrayList<>();
+        for (Document doc : result.getList("items", Document.class)) {
+            items.add(converter.read(MaterialSummary.class, doc));
+        }
+
+        List<Document> total = result.getList("total", Document.class);
+        long totalCount = total.isEmpty() ? 0 : total.get(0).getInteger("count");
+
+        Map<String, List<FacetCount>> facets = new LinkedHashMap<>();
+        for (String field : FACET_FIELDS) {
+            List<FacetCount> counts = new ArrayList<>();
+            for (Document bucket : result.getList(field, Document.class)) {
+                counts.add(new FacetCount(bucket.get("_id"), bucket.getInteger("count")));
+            }
+            facets.put(field, counts);
+        }
+
+        return new MaterialSearchResult(items, totalCount, facets);
+    }
+
+    public static Criteria approvedWithFilters(Integer semester, String subject, String materialType) {
+        Criteria criteria = Criteria.where("approved").is(true);
+
+        if (semester != null) {
+            criteria.and("semester").is(semester);
+        }
+        if (subject != null && !subject.isEmpty()) {
+            criteria.and("subject").is(subject);
+        }
+        if (materialType != null && !materialType.isEmpty()) {
+            criteria.and("materialType").is(materialType);
+        }
+        return criteria;
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.study_share_backend.storage;
+
+import java.util.List;
+import java.util.Locale;
+
+// Stored (precompressed) variants of a blob and how downloads pick one. Shared
+// so the MVC and reactive download paths negotiate the same way.
+public final class ContentEncodings {
+
+    public static final String GZIP = "gzip";
+
+    private ContentEncodings() {
+    }
+
+    public static String variantKey(String key, String encoding) {
+        return GZIP.equals(encoding) ? key + ".gz" : key;
+    }
+
+    // The stored encoding to serve for this Accept-Encoding header, or null for identity
+    public static String negotiate(List<String> storedEncodings, String acceptEncoding) {
+        if (storedEncodings == null || !storedEncodings.contains(GZIP) || acceptEncoding == null) {
+            return null;
+        }
+        return accepts(acceptEncoding, GZIP) ? GZIP : null;
+    }
+
+    // "gzip", "gzip;q=0.8", "*" count; "gzip;q=0" does not. Every entry is read:
+    // an explicit entry for the encoding overrides "*" wherever it appears (RFC 9110)
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        Double exact = null;
+        Double wildcard = null;
+
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String name = tokens[0].trim().toLowerCase(Locale.ROOT);
+
+            if (name.equals(encoding)) {
+                exact = quality(tokens);
+            } else if (name.equals("*")) {
+                wildcard = quality(tokens);
+            }
+        }
+
+        Double q = exact != null ? exact : wildcard;
+        return q != null && q > 0;
+    }
+
+    // The q parameter of one entry, 1 when absent, 0 when malformed
+    private static double quality(String[] tokens) {
+        for (int i = 1; i < tokens.length; i++) {
+            String param = tokens[i].trim();
+            if (param.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(param.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.study_share_backend.storage;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentEncodingsTest {
+
+    private static final List<String> STORED = List.of(ContentEncodings.GZIP);
+
+    @Test
+    void servesGzipWhenAccepted() {
+        assertThat(ContentEncodings.negotiate(STORED, "gzip, deflate, br")).isEqualTo("gzip");
+        assertThat(ContentEncodings.negotiate(STORED, "br;q=1.0, gzip;q=0.8")).isEqualTo("gzip");
+        assertThat(ContentEncodings.negotiate(STORED, "*")).isEqualTo("gzip");
+    }
+
+    @Test
+    void explicitGzipRefusalOverridesTheWildcard() {
+        assertThat(ContentEncodings.negotiate(STORED, "*;q=0.5, gzip;q=0")).isNull();
+        assertThat(ContentEncodings.negotiate(STORED, "gzip;q=0, *")).isNull();
+    }
+
+    @Test
+    void explicitGzipOverridesARefusingWildcard() {
+        assertThat(ContentEncodings.negotiate(STORED, "*;q=0, gzip")).isEqualTo("gzip");
+    }
+
+    @Test
+    void servesIdentityOtherwise() {
+        assertThat(ContentEncodings.negotiate(STORED, "br")).isNull();
+        assertThat(ContentEncodings.negotiate(STORED, "gzip;q=abc")).isNull();
+        assertThat(ContentEncodings.negotiate(STORED, null)).isNull();
+        assertThat(ContentEncodings.negotiate(List.of(), "gzip")).isNull();
+    }
+}
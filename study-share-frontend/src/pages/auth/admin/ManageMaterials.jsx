@@ -55,14 +55,23 @@ export default function ManageMaterials() {
   const updateFileName = async (id) => {
     if (!editingName.trim()) return toast.error("Filename cannot be empty");
 
+    // Version as loaded, so a concurrent change is rejected instead of overwritten
+    const material = materials.find((m) => m.id === id);
+
     try {
       await api.put(`/materials/admin/update-filename/${id}`, {
         fileName: editingName.trim(),
+        version: material?.version ?? undefined,
       });
       toast.success("Filename updated ✅");
       fetchMaterials();
       setEditingId(null);
-    } catch {
+    } catch (err) {
+      if (err.response?.status === 409) {
+        toast.error("Material was changed by someone else, reloaded ❌");
+        fetchMaterials();
+        return;
+      }
       toast.error("Update failed ❌");
     }
   };
@@ -4,15 +4,15 @@ import { LuSearch } from "react-icons/lu"; // Search icon
 
 export default function UserInfo() {
   const [users, setUsers] = useState([]);
-  const [filteredUsers, setFilteredUsers] = useState([]);
+  const [total, setTotal] = useState(0);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState("");
 
-  // Pagination
+  // Pagination (server-side)
   const [currentPage, setCurrentPage] = useState(1);
   const usersPerPage = 10; // ✅ 10 users per page
 
-  // Search
+  // Search (email or name prefix, server-side)
   const [searchEmail, setSearchEmail] = useState("");
 
   useEffect(() => {
@@ -24,10 +24,15 @@ export default function UserInfo() {
         const token = localStorage.getItem("token");
         const response = await axios.get("http://localhost:8080/api/admin/users", {
           headers: { Authorization: `Bearer ${token}` },
+          params: {
+            q: searchEmail || undefined,
+            page: currentPage - 1,
+            limit: usersPerPage,
+          },
         });
 
-        setUsers(response.data);
-        setFilteredUsers(response.data);
+        setUsers(response.data.items);
+        setTotal(response.data.total);
       } catch (err) {
         console.error(err);
         setError(err.response?.data?.message || "Failed to fetch user information");
@@ -37,27 +42,22 @@ export default function UserInfo() {
     };
 
     fetchUsers();
-  }, []);
+  }, [searchEmail, currentPage]);
 
-  // Filter users by email
-  useEffect(() => {
-    const filtered = users.filter((user) =>
-      user.email.toLowerCase().includes(searchEmail.toLowerCase())
-    );
-    setFilteredUsers(filtered);
-    setCurrentPage(1); // Reset to first page when search changes
-  }, [searchEmail, users]);
+  // Reset to first page when search changes
+  const handleSearch = (value) => {
+    setSearchEmail(value);
+    setCurrentPage(1);
+  };
 
-  // Pagination logic
-  const indexOfLastUser = currentPage * usersPerPage;
-  const indexOfFirstUser = indexOfLastUser - usersPerPage;
-  const currentUsers = filteredUsers.slice(indexOfFirstUser, indexOfLastUser);
-  const totalPages = Math.ceil(filteredUsers.length / usersPerPage);
+  const currentUsers = users;
+  const totalPages = Math.ceil(total / usersPerPage);
 
   const handlePrev = () => currentPage > 1 && setCurrentPage(currentPage - 1);
   const handleNext = () => currentPage < totalPages && setCurrentPage(currentPage + 1);
 
-  if (loading) {
+  // Full-page spinner only on first load, so the search box keeps focus while typing
+  if (loading && users.length === 0 && !searchEmail) {
     return (
       <div className="flex justify-center items-center h-full text-gray-400">
         Loading users...
@@ -78,9 +78,9 @@ export default function UserInfo() {
         <LuSearch className="absolute left-3 top-1/2 -translate-y-1/2 text-[#AD967D]" size={18} />
         <input
           type="text"
-          placeholder="Search by email..."
+          placeholder="Search by email or name..."
           value={searchEmail}
-          onChange={(e) => setSearchEmail(e.target.value)}
+          onChange={(e) => handleSearch(e.target.value)}
           className="pl-10 pr-4 py-2 w-full rounded-lg bg-[#3c2d22] text-[#FFFDF8] border border-[#5A4235] focus:outline-none focus:ring-2 focus:ring-[#AD967D] placeholder:text-[#CCC2B6]"
         />
       </div>
@@ -16,9 +16,9 @@ export default function Home({ user, setUser }) {
   useEffect(() => {
     async function fetchMaterials() {
       try {
-        const response = await fetch("http://localhost:8080/api/materials");
+        const response = await fetch("http://localhost:8080/api/materials?limit=6");
         const data = await response.json();
-        setMaterials(Array.isArray(data) ? data : []);
+        setMaterials(Array.isArray(data.items) ? data.items : []);
       } catch (error) {
         console.error("Error fetching materials:", error);
       } finally {
@@ -195,8 +195,6 @@ export default function Home({ user, setUser }) {
         ) : (
           <div className="grid grid-cols-1 sm:grid-cols-2 md:grid-cols-3 gap-6">
             {materials
-              .slice(-6)
-              .reverse()
               .map((m, i) => (
                 <motion.div
                   key={m.id}
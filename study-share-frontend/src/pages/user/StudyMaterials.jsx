@@ -13,46 +13,56 @@ export default function StudyMaterials() {
   // ===== Pagination =====
   const ITEMS_PER_PAGE = 9;
   const [currentPage, setCurrentPage] = useState(1);
+  const [totalPages, setTotalPages] = useState(0);
 
-  // ===== Fetch materials =====
+  const SEARCH_DEBOUNCE_MS = 300;
+
+  // ===== Debounce typing; a new search starts from page 1 =====
+  const [debouncedSearch, setDebouncedSearch] = useState("");
+
+  useEffect(() => {
+    if (search === debouncedSearch) return;
+
+    const timer = setTimeout(() => {
+      setDebouncedSearch(search);
+      setCurrentPage(1);
+    }, SEARCH_DEBOUNCE_MS);
+    return () => clearTimeout(timer);
+  }, [search, debouncedSearch]);
+
+  // ===== Fetch materials (server-side search, filters and paging) =====
   useEffect(() => {
+    // Aborted when the query changes, so a slow older response never
+    // overwrites a newer one
+    const controller = new AbortController();
+
     const fetchMaterials = async () => {
+      setLoading(true);
       try {
-        const res = await api.get("/materials");
-        setMaterials(Array.isArray(res.data) ? res.data : []);
+        const res = await api.get("/materials/search", {
+          params: {
+            q: debouncedSearch || undefined,
+            materialType: category || undefined,
+            semester: semester || undefined,
+            page: currentPage - 1,
+            limit: ITEMS_PER_PAGE,
+          },
+          signal: controller.signal,
+        });
+        setMaterials(res.data.items || []);
+        setTotalPages(Math.ceil((res.data.total || 0) / ITEMS_PER_PAGE));
       } catch (err) {
+        if (controller.signal.aborted) return;
         console.error("Failed to fetch materials", err);
-      } finally {
-        setLoading(false);
       }
+      setLoading(false);
     };
 
     fetchMaterials();
-  }, []);
+    return () => controller.abort();
+  }, [debouncedSearch, category, semester, currentPage]);
 
-  // ===== Reset page on filter change =====
-  useEffect(() => {
-    setCurrentPage(1);
-  }, [search, category, semester]);
-
-  // ===== Filtering =====
-  const filteredMaterials = materials.filter((m) => {
-    const matchesSearch =
-      m.subject.toLowerCase().includes(search.toLowerCase()) ||
-      m.materialType.toLowerCase().includes(search.toLowerCase());
-
-    const matchesCategory = category === "" || m.materialType === category;
-    const matchesSemester = semester === "" || m.semester === Number(semester);
-
-    return matchesSearch && matchesCategory && matchesSemester;
-  });
-
-  // ===== Pagination logic =====
-  const totalPages = Math.ceil(filteredMaterials.length / ITEMS_PER_PAGE);
-  const paginatedMaterials = filteredMaterials.slice(
-    (currentPage - 1) * ITEMS_PER_PAGE,
-    currentPage * ITEMS_PER_PAGE
-  );
+  const paginatedMaterials = materials;
 
   return (
     <div className="min-h-screen pt-28 px-4 sm:px-6 lg:px-12 text-[#3E2C23]
@@ -85,7 +95,10 @@ export default function StudyMaterials() {
 
           <select
             value={category}
-            onChange={(e) => setCategory(e.target.value)}
+            onChange={(e) => {
+              setCategory(e.target.value);
+              setCurrentPage(1);
+            }}
             className="px-4 sm:px-5 py-2 sm:py-3 rounded-xl bg-[#F7F3EE]
               border border-[#E6DED6] text-[#3E2C23]
               focus:outline-none focus:ring-2 focus:ring-[#6F4E37]"
@@ -99,7 +112,10 @@ export default function StudyMaterials() {
 
           <select
             value={semester}
-            onChange={(e) => setSemester(e.target.value)}
+            onChange={(e) => {
+              setSemester(e.target.value);
+              setCurrentPage(1);
+            }}
             className="px-4 sm:px-5 py-2 sm:py-3 rounded-xl bg-[#F7F3EE]
               border border-[#E6DED6] text-[#3E2C23]
               focus:outline-none focus:ring-2 focus:ring-[#6F4E37]"
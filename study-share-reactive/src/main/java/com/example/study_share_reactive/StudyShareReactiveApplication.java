@@ -0,0 +1,13 @@
+package com.example.study_share_reactive;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+
+@SpringBootApplication
+public class StudyShareReactiveApplication {
+
+	public static void main(String[] args) {
+		SpringApplication.run(StudyShareReactiveApplication.class, args);
+	}
+
+}
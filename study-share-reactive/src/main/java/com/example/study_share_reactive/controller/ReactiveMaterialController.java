@@ -0,0 +1,105 @@
+package com.example.study_share_reactive.controller;
+
+import com.example.study_share_backend.dto.MaterialPage;
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_reactive.repository.ReactiveMaterialRepository;
+import com.example.study_share_reactive.web.FileStreamer;
+import org.bson.types.ObjectId;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+// Read side of /api/materials (catalog, search, downloads) on WebFlux. Same
+// paths, parameters and response shapes as the MVC MaterialController; uploads
+// and moderation stay on the MVC backend.
+@RestController
+@RequestMapping("/api/materials")
+@CrossOrigin(origins = "http://localhost:5173")
+public class ReactiveMaterialController {
+
+    private final ReactiveMaterialRepository materialRepository;
+    private final FileStreamer fileStreamer;
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+
+    public ReactiveMaterialController(
+            ReactiveMaterialRepository materialRepository,
+            FileStreamer fileStreamer
+    ) {
+        this.materialRepository = materialRepository;
+        this.fileStreamer = fileStreamer;
+    }
+
+    // ================= STUDENT: APPROVED ONLY (CURSOR PAGED) =================
+    @GetMapping
+    public Mono<MaterialPage> getApprovedMaterials(
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String subject,
+            @RequestParam(required = false) String materialType,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        if (cursor != null && !cursor.isEmpty() && !ObjectId.isValid(cursor)) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor"));
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        return materialRepository.findApprovedPage(semester, subject, materialType, cursor, pageSize)
+                .collectList()
+                .map(items -> {
+                    // A full page means there may be more; hand back the last id as the cursor
+                    String nextCursor = items.size() == pageSize
+                            ? items.get(items.size() - 1).getId()
+                            : null;
+
+                    return new MaterialPage(items, nextCursor);
+                });
+    }
+
+    // ================= STUDENT: SEARCH (TEXT INDEX + FACETS) =================
+    @GetMapping("/search")
+    public Mono<MaterialSearchResult> searchMaterials(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) Integer semester,
+            @RequestParam(required = false) String subject,
+            @RequestParam(required = false) String materialType,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int limit
+    ) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int pageIndex = Math.max(0, page);
+
+        return materialRepository.search(q, semester, subject, materialType, pageIndex, pageSize);
+    }
+
+    // ================= DOWNLOAD (APPROVED ONLY) =================
+    @GetMapping("/download/{id}")
+    public Mono<Void> downloadMaterial(@PathVariable String id, ServerWebExchange exchange) {
+        return getMaterialOrError(id)
+                .flatMap(material -> {
+                    if (!material.isApproved()) {
+                        return Mono.error(new ResponseStatusException(
+                                HttpStatus.FORBIDDEN,
+                                "Material not approved yet"
+                        ));
+                    }
+                    return fileStreamer.serve(material, "attachment", exchange);
+                });
+    }
+
+    // ================= HELPER METHODS =================
+
+    private Mono<Material> getMaterialOrError(String id) {
+        return materialRepository.findById(id)
+                .switchIfEmpty(Mono.error(() ->
+                        new ResponseStatusException(
+                                HttpStatus.NOT_FOUND,
+                                "Material not found"
+                        )));
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.study_share_reactive.repository;
+
+import com.example.study_share_backend.model.Material;
+import org.springframework.data.mongodb.repository.ReactiveMongoRepository;
+
+public interface ReactiveMaterialRepository
+        extends ReactiveMongoRepository<Material, String>, ReactiveMaterialRepositoryCustom {
+}
@@ -0,0 +1,27 @@
+package com.example.study_share_reactive.repository;
+
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.dto.MaterialSummary;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// Same queries as the backend's MaterialRepositoryCustom, built by MaterialQueries
+public interface ReactiveMaterialRepositoryCustom {
+
+    Flux<MaterialSummary> findApprovedPage(
+            Integer semester,
+            String subject,
+            String materialType,
+            String cursor,
+            int limit
+    );
+
+    Mono<MaterialSearchResult> search(
+            String text,
+            Integer semester,
+            String subject,
+            String materialType,
+            int page,
+            int limit
+    );
+}
@@ -0,0 +1,71 @@
+package com.example.study_share_reactive.repository;
+
+import com.example.study_share_backend.dto.MaterialSearchResult;
+import com.example.study_share_backend.dto.MaterialSummary;
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.model.MaterialContent;
+import com.example.study_share_backend.repository.MaterialQueries;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public class ReactiveMaterialRepositoryImpl implements ReactiveMaterialRepositoryCustom {
+
+    private final ReactiveMongoTemplate mongoTemplate;
+
+    public ReactiveMaterialRepositoryImpl(ReactiveMongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Flux<MaterialSummary> findApprovedPage(
+            Integer semester,
+            String subject,
+            String materialType,
+            String cursor,
+            int limit
+    ) {
+        return mongoTemplate.find(
+                MaterialQueries.approvedPage(semester, subject, materialType, cursor, limit),
+                MaterialSummary.class,
+                mongoTemplate.getCollectionName(Material.class)
+        );
+    }
+
+    @Override
+    public Mono<MaterialSearchResult> search(
+            String text,
+            Integer semester,
+            String subject,
+            String materialType,
+            int page,
+            int limit
+    ) {
+        Mono<List<ObjectId>> contentMatches = text != null && !text.isBlank()
+                ? findContentMatches(text)
+                : Mono.just(List.of());
+
+        return contentMatches
+                .flatMap(ids -> mongoTemplate.aggregate(
+                        Aggregation.newAggregation(MaterialQueries.search(
+                                text, ids, semester, subject, materialType, page, limit
+                        )),
+                        mongoTemplate.getCollectionName(Material.class),
+                        Document.class
+                ).next())
+                .map(result -> MaterialQueries.toSearchResult(result, mongoTemplate.getConverter()));
+    }
+
+    private Mono<List<ObjectId>> findContentMatches(String text) {
+        return mongoTemplate.find(MaterialQueries.contentMatches(text), MaterialContent.class)
+                .map(MaterialContent::getId)
+                .filter(ObjectId::isValid)
+                .map(ObjectId::new)
+                .collectList();
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.study_share_reactive.storage;
+
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+// Non-blocking, read-only access to the blobs the MVC backend stores. The
+// implementation follows the same "storage.type" (local | gridfs | s3) and keys.
+public interface BlobStore {
+
+    // Empty when the key does not exist
+    Mono<Blob> find(String key);
+
+    interface Blob {
+
+        long length();
+
+        Instant lastModified();
+
+        // Writes count bytes starting at start as the response body
+        Mono<Void> writeTo(ServerHttpResponse response, long start, long count);
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.study_share_reactive.storage;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsResource;
+import org.springframework.data.mongodb.gridfs.ReactiveGridFsTemplate;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+
+import static org.springframework.data.mongodb.core.query.Query.query;
+import static org.springframework.data.mongodb.gridfs.GridFsCriteria.whereFilename;
+
+// Blobs in MongoDB GridFS, keyed by filename like the backend's GridFsStorageService
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "gridfs")
+public class GridFsBlobStore implements BlobStore {
+
+    private final ReactiveGridFsTemplate gridFsTemplate;
+
+    public GridFsBlobStore(ReactiveGridFsTemplate gridFsTemplate) {
+        this.gridFsTemplate = gridFsTemplate;
+    }
+
+    @Override
+    public Mono<Blob> find(String key) {
+        return gridFsTemplate.findOne(query(whereFilename().is(key)))
+                .<Blob>map(GridFsBlob::new);
+    }
+
+    private final class GridFsBlob implements Blob {
+
+        private final GridFSFile file;
+
+        GridFsBlob(GridFSFile file) {
+            this.file = file;
+        }
+
+        @Override
+        public long length() {
+            return file.getLength();
+        }
+
+        @Override
+        public Instant lastModified() {
+            return file.getUploadDate().toInstant();
+        }
+
+        // GridFS has no ranged read: chunks before start are fetched and dropped
+        @Override
+        public Mono<Void> writeTo(ServerHttpResponse response, long start, long count) {
+            Flux<DataBuffer> buffers = gridFsTemplate.getResource(file)
+                    .flatMapMany(ReactiveGridFsResource::getDownloadStream);
+
+            return response.writeWith(DataBufferUtils.takeUntilByteCount(
+                    DataBufferUtils.skipUntilByteCount(buffers, start), count));
+        }
+    }
+}
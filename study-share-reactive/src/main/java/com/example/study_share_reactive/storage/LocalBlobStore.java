@@ -0,0 +1,75 @@
+package com.example.study_share_reactive.storage;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.ZeroCopyHttpOutputMessage;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
+
+// Files under storage.upload-dir: sendfile when the server supports zero-copy
+// (Netty), otherwise DataBuffers read from an AsynchronousFileChannel.
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "local", matchIfMissing = true)
+public class LocalBlobStore implements BlobStore {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Path root;
+
+    public LocalBlobStore(@Value("${storage.upload-dir:C:/studyshare/uploads}") String root) {
+        this.root = Paths.get(root);
+    }
+
+    @Override
+    public Mono<Blob> find(String key) {
+        // Absolute keys (files stored before blob keys existed) resolve to themselves
+        Path file = root.resolve(key);
+
+        return Mono.fromCallable(() -> Files.readAttributes(file, BasicFileAttributes.class))
+                .subscribeOn(Schedulers.boundedElastic())
+                .<Blob>map(attributes -> new LocalBlob(file, attributes))
+                .onErrorResume(NoSuchFileException.class, e -> Mono.empty());
+    }
+
+    private record LocalBlob(Path file, BasicFileAttributes attributes) implements Blob {
+
+        @Override
+        public long length() {
+            return attributes.size();
+        }
+
+        @Override
+        public Instant lastModified() {
+            return attributes.lastModifiedTime().toInstant();
+        }
+
+        @Override
+        public Mono<Void> writeTo(ServerHttpResponse response, long start, long count) {
+            if (response instanceof ZeroCopyHttpOutputMessage zeroCopy) {
+                return zeroCopy.writeWith(file, start, count);
+            }
+
+            Flux<DataBuffer> buffers = DataBufferUtils.readAsynchronousFileChannel(
+                    () -> AsynchronousFileChannel.open(file, StandardOpenOption.READ),
+                    start,
+                    response.bufferFactory(),
+                    BUFFER_SIZE
+            );
+            return response.writeWith(DataBufferUtils.takeUntilByteCount(buffers, count));
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.study_share_reactive.storage;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+import java.net.URI;
+import java.time.Instant;
+
+// S3-compatible object store, same settings as the backend's S3StorageService.
+// Metadata comes from a HEAD; the body is one GET for exactly the bytes served.
+@Component
+@ConditionalOnProperty(name = "storage.type", havingValue = "s3")
+public class S3BlobStore implements BlobStore {
+
+    private final S3AsyncClient s3;
+    private final String bucket;
+
+    public S3BlobStore(
+            @Value("${storage.s3.bucket}") String bucket,
+            @Value("${storage.s3.endpoint:}") String endpoint,
+            @Value("${storage.s3.region:us-east-1}") String region,
+            @Value("${storage.s3.access-key}") String accessKey,
+            @Value("${storage.s3.secret-key}") String secretKey,
+            @Value("${storage.s3.path-style:true}") boolean pathStyle
+    ) {
+        S3AsyncClientBuilder builder = S3AsyncClient.builder()
+                .region(Region.of(region))
+                .credentialsProvider(StaticCredentialsProvider.create(
+                        AwsBasicCredentials.create(accessKey, secretKey)))
+                .forcePathStyle(pathStyle);
+
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        this.s3 = builder.build();
+        this.bucket = bucket;
+    }
+
+    @Override
+    public Mono<Blob> find(String key) {
+        return Mono.fromFuture(() -> s3.headObject(b -> b.bucket(bucket).key(key)))
+                .<Blob>map(head -> new S3Blob(key, head))
+                .onErrorResume(
+                        e -> e instanceof S3Exception s3e && s3e.statusCode() == 404,
+                        e -> Mono.empty()
+                );
+    }
+
+    @PreDestroy
+    public void close() {
+        s3.close();
+    }
+
+    private final class S3Blob implements Blob {
+
+        private final String key;
+        private final HeadObjectResponse head;
+
+        S3Blob(String key, HeadObjectResponse head) {
+            this.key = key;
+            this.head = head;
+        }
+
+        @Override
+        public long length() {
+            return head.contentLength();
+        }
+
+        @Override
+        public Instant lastModified() {
+            return head.lastModified();
+        }
+
+        @Override
+        public Mono<Void> writeTo(ServerHttpResponse response, long start, long count) {
+            if (count == 0) {
+                return response.setComplete();
+            }
+
+            GetObjectRequest.Builder request = GetObjectRequest.builder().bucket(bucket).key(key);
+            if (start > 0 || count < length()) {
+                request.range("bytes=" + start + "-" + (start + count - 1));
+            }
+
+            return Mono.fromFuture(() -> s3.getObject(request.build(), AsyncResponseTransformer.toPublisher()))
+                    .flatMap(body -> response.writeWith(
+                            Flux.from(body).map(response.bufferFactory()::wrap)));
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.study_share_reactive.web;
+
+import com.example.study_share_backend.model.Material;
+import com.example.study_share_backend.storage.ContentEncodings;
+import com.example.study_share_reactive.storage.BlobStore;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+// Streams stored files without holding a thread per connection, from whichever
+// BlobStore matches storage.type. Clients accepting gzip get the stored
+// precompressed variant, and "Range", "If-Range" and the conditional GET
+// headers are handled like the MVC controller does.
+@Component
+public class FileStreamer {
+
+    private final BlobStore blobStore;
+
+    public FileStreamer(BlobStore blobStore) {
+        this.blobStore = blobStore;
+    }
+
+    public Mono<Void> serve(Material material, String disposition, ServerWebExchange exchange) {
+        String encoding = ContentEncodings.negotiate(
+                material.getEncodings(),
+                exchange.getRequest().getHeaders().getFirst(HttpHeaders.ACCEPT_ENCODING)
+        );
+
+        Mono<Stored> identity = blobStore.find(material.getFilePath())
+                .map(blob -> new Stored(blob, null));
+
+        // A variant that is missing (e.g. already swept) falls back to the blob
+        Mono<Stored> stored = encoding == null
+                ? identity
+                : blobStore.find(ContentEncodings.variantKey(material.getFilePath(), encoding))
+                        .map(blob -> new Stored(blob, encoding))
+                        .switchIfEmpty(identity);
+
+        return stored
+                .switchIfEmpty(Mono.error(() ->
+                        new ResponseStatusException(HttpStatus.NOT_FOUND, "File not found")))
+                .flatMap(file -> write(material, disposition, file, exchange));
+    }
+
+    private Mono<Void> write(
+            Material material,
+            String disposition,
+            Stored file,
+            ServerWebExchange exchange
+    ) {
+        ServerHttpResponse response = exchange.getResponse();
+        BlobStore.Blob blob = file.blob();
+
+        String etag = null;
+        if (material.getContentHash() != null) {
+            etag = file.encoding() != null
+                    ? "\"" + material.getContentHash() + "-" + file.encoding() + "\""
+                    : "\"" + material.getContentHash() + "\"";
+        }
+
+        HttpHeaders headers = response.getHeaders();
+        if (material.getEncodings() != null && !material.getEncodings().isEmpty()) {
+            headers.setVary(List.of(HttpHeaders.ACCEPT_ENCODING));
+        }
+
+        if (exchange.checkNotModified(etag, blob.lastModified())) {
+            return response.setComplete();
+        }
+
+        headers.setContentType(MediaTypeFactory.getMediaType(material.getFileName())
+                .orElse(MediaType.APPLICATION_OCTET_STREAM));
+        headers.setContentDisposition(ContentDisposition.builder(disposition)
+                .filename(material.getFileName())
+                .build());
+        headers.set(HttpHeaders.ACCEPT_RANGES, "bytes");
+        headers.setCacheControl(CacheControl.noCache());
+        if (file.encoding() != null) {
+            headers.set(HttpHeaders.CONTENT_ENCODING, file.encoding());
+        }
+
+        // Ranges apply to the bytes sent, i.e. the encoded variant when there is one
+        long length = blob.length();
+        long start = 0;
+        long count = length;
+
+        HttpRange range = singleRange(exchange, etag);
+        if (range != null) {
+            if (range.getRangeStart(length) >= length) {
+                headers.set(HttpHeaders.CONTENT_RANGE, "bytes */" + length);
+                response.setStatusCode(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE);
+                return response.setComplete();
+            }
+
+            start = range.getRangeStart(length);
+            long end = range.getRangeEnd(length);
+            count = end - start + 1;
+
+            response.setStatusCode(HttpStatus.PARTIAL_CONTENT);
+            headers.set(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + length);
+        }
+
+        headers.setContentLength(count);
+        return blob.writeTo(response, start, count);
+    }
+
+    // One satisfiable range, or null for the whole file. Multiple ranges are
+    // answered with the full body, which RFC 9110 allows.
+    private static HttpRange singleRange(ServerWebExchange exchange, String etag) {
+        HttpHeaders requestHeaders = exchange.getRequest().getHeaders();
+
+        String ifRange = requestHeaders.getFirst(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+
+        List<HttpRange> ranges;
+        try {
+            ranges = requestHeaders.getRange();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        return ranges.size() == 1 ? ranges.get(0) : null;
+    }
+
+    // The blob being served and its content coding (null for identity)
+    private record Stored(BlobStore.Blob blob, String encoding) {
+    }
+}